@@ -30,6 +30,10 @@ android {
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
+    testOptions {
+        // Plain JVM unit tests call into android.util.Log, which only returns defaults there
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
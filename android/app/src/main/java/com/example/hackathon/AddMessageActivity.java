@@ -157,7 +157,7 @@ public class AddMessageActivity extends BaseActivity {
             setResult(RESULT_OK, resultIntent);
 //            PostPersistenceManager.getInstance(this).savePosts();
             DataManager dm = new DataManager(new AndroidIOFactory(this));
-            dm.writeAll();
+            dm.logMessage(newMessage);
             finish();
 
         } catch (Exception e) {
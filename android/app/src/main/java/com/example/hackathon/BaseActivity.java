@@ -9,6 +9,7 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.hackathon.auth.Session;
+import com.example.hackathon.persistentdata.PersistenceScheduler;
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 
 import java.util.UUID;
@@ -25,6 +26,13 @@ public abstract class BaseActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
     }
 
+    @Override
+    protected void onStop() {
+        super.onStop();
+        // Mutations are saved in the background; write out any still waiting in case the app is not coming back
+        PersistenceScheduler.getInstance().flush();
+    }
+
     /**
      * Call this after setContentView() in child activities
      */
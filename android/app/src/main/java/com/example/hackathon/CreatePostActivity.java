@@ -152,9 +152,9 @@ public class CreatePostActivity extends BaseActivity {
 
 
 //            PostPersistenceManager.getInstance(this).savePosts();
-            // Save to CSV using DataManager
+            // Append the post and its first message to the mutation log
             DataManager dm = new DataManager(new AndroidIOFactory(this));
-            dm.writeAll();
+            dm.logPost(newPost);
             finish();
 
         } catch (Exception e) {
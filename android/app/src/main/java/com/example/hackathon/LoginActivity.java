@@ -32,18 +32,6 @@ public class LoginActivity extends AppCompatActivity {
 
         PersistentBootstrap.ensureSeedUsers(this);
 
-        DataManager dm = new DataManager(new AndroidIOFactory(this));
-        try {
-            dm.readAll();
-        } catch (Exception ignored) {
-        }
-
-        UUID saved = Session.load(this);
-        if (saved != null) {
-            User u = UserDAO.getInstance().getByUUID(saved);
-            if (u != null) UserDAO.getInstance().setCurrentUser(u);
-        }
-
         usernameInput = findViewById(R.id.usernameInput);
         passwordInput = findViewById(R.id.passwordInput);
         loginButton = findViewById(R.id.loginButton);
@@ -57,6 +45,23 @@ public class LoginActivity extends AppCompatActivity {
         goToRegisterButton.setOnClickListener(v ->
                 startActivity(new Intent(LoginActivity.this, RegisterActivity.class))
         );
+
+        // Saved data is parsed off the UI thread; logging in waits until it is in
+        loginButton.setEnabled(false);
+        new DataManager(new AndroidIOFactory(this)).readAllAsync()
+                .exceptionally(e -> null)
+                .thenRunAsync(this::onDataLoaded, getMainExecutor());
+    }
+
+    private void onDataLoaded() {
+        if (isDestroyed()) return;
+
+        UUID saved = Session.load(this);
+        if (saved != null) {
+            User u = UserDAO.getInstance().getByUUID(saved);
+            if (u != null) UserDAO.getInstance().setCurrentUser(u);
+        }
+        loginButton.setEnabled(true);
     }
 
     private void togglePasswordVisibility(boolean show) {
@@ -67,12 +72,6 @@ public class LoginActivity extends AppCompatActivity {
     }
 
     private void handleLogin() {
-        DataManager dm = new DataManager(new AndroidIOFactory(this));
-        try {
-            dm.readAll();
-        } catch (Exception ignored) {
-        }
-
         String username = usernameInput.getText().toString().trim();
         String password = passwordInput.getText().toString().trim();
 
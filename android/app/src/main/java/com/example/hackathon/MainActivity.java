@@ -24,6 +24,7 @@ import com.example.hackathon.dao.model.Message;
 import com.example.hackathon.managers.PinPostManager;
 import com.example.hackathon.managers.PostPersistenceManager;
 import com.example.hackathon.persistentdata.DataManager;
+import com.example.hackathon.persistentdata.PersistenceScheduler;
 import com.example.hackathon.persistentdata.io.AndroidIOFactory;
 import com.example.hackathon.ui.dialogs.PinConfirmationDialog;
 import com.example.hackathon.ui.dialogs.UnpinConfirmationDialog;
@@ -66,6 +67,9 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
 
     private ActivityResultLauncher<Intent> createPostLauncher;
 
+    // Set once the saved data has been loaded; until then the DAOs may be half filled
+    private boolean dataLoaded = false;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         themeManager = ThemeManager.getInstance(this);
@@ -83,9 +87,6 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
         initializeViews();
         setupThemeToggle();
         initializeDataOnce();
-        loadPosts();
-        setupSwipeToPin();
-        setupLongPressForUnpin();
         setupBottomNavigation();
     }
 
@@ -133,7 +134,7 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
 //            android.util.Log.d("MainActivity", "No saved posts, generating random data");
 //            RandomContentGenerator.populateRandomData();
 //            postPersistenceManager.savePosts();
-//            android.util.Log.d("MainActivity", "Generated posts saved");
+//            android.util.Log.d("MainActivity", "Generated posts, saving in the background");
 //        } else {
 //            android.util.Log.d("MainActivity", "Loaded existing posts from storage");
 //        }
@@ -142,9 +143,20 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
     private void initializeDataOnce() {
         DataManager dm = new DataManager(new AndroidIOFactory(this));
 
-        try {
-            dm.readAll();
+        // Parse saved data off the UI thread, then show the posts once it is in
+        dm.readAllAsync().whenCompleteAsync((ignored, error) -> onDataLoaded(dm, error), getMainExecutor());
+    }
+
+    private void onDataLoaded(DataManager dm, Throwable error) {
+        if (isDestroyed()) return;
 
+        if (error != null) {
+            android.util.Log.e("MainActivity", "Error loading data", error);
+            // Generate random data as fallback
+            RandomContentGenerator.populateRandomData();
+            // Saved in the background, so the posts show straight away
+            dm.writeAllLater();
+        } else {
             // Check if we have any posts
             int postCount = 0;
             Iterator<Post> iterator = PostDAO.getInstance().getAll();
@@ -156,32 +168,17 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
             if (postCount == 0) {
                 android.util.Log.d("MainActivity", "No saved posts, generating random data");
                 RandomContentGenerator.populateRandomData();
-                dm.writeAll();
-                android.util.Log.d("MainActivity", "Generated posts saved");
+                dm.writeAllLater();
+                android.util.Log.d("MainActivity", "Generated posts, saving in the background");
             } else {
                 android.util.Log.d("MainActivity", "Loaded " + postCount + " posts from storage");
             }
-        } catch (Exception e) {
-            android.util.Log.e("MainActivity", "Error loading data", e);
-            // Generate random data as fallback
-            RandomContentGenerator.populateRandomData();
         }
-    }
 
-    @Override
-    protected void onPause() {
-        super.onPause();
-
-        // Save all data when pausing
-        if (!isChangingConfigurations()) {
-            DataManager dm = new DataManager(new AndroidIOFactory(this));
-            try {
-                dm.writeAll();
-                android.util.Log.d("MainActivity", "Saved all data");
-            } catch (Exception e) {
-                android.util.Log.e("MainActivity", "Error saving data", e);
-            }
-        }
+        dataLoaded = true;
+        loadPosts();
+        setupSwipeToPin();
+        setupLongPressForUnpin();
     }
 
     private void loadPosts() {
@@ -211,9 +208,8 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
                         pinManager.sortWithPinnedFirst(posts);
                         pinManager.sortWithPinnedFirst(filteredPosts);
 
-                        // Recreate adapter and reattach handlers
-                        recreateAdapterAndHandlers();
-                        recyclerViewPosts.smoothScrollToPosition(toPosition);
+                        // Only the moved post's row is rebound
+                        showFilteredPosts(() -> recyclerViewPosts.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
@@ -221,17 +217,14 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
                         pinManager.sortWithPinnedFirst(posts);
                         pinManager.sortWithPinnedFirst(filteredPosts);
 
-                        // Recreate adapter and reattach handlers
-                        recreateAdapterAndHandlers();
-                        recyclerViewPosts.smoothScrollToPosition(toPosition);
+                        // Only the moved post's row is rebound
+                        showFilteredPosts(() -> recyclerViewPosts.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
                     public void onSwipeCancelled(int position) {
-                        // Recreate adapter to reset visual state
-                        postAdapter = new PostListAdapter(filteredPosts, MainActivity.this, pinManager);
-                        postAdapter.setOnAuthorClickListener(MainActivity.this::openUserProfile);
-                        recyclerViewPosts.setAdapter(postAdapter);
+                        // Rebinding the row brings it back from where it was swiped to
+                        postAdapter.notifyItemChanged(position);
                     }
                 });
 
@@ -239,16 +232,26 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
     }
 
     /**
-     * Recreates adapter and reattaches all handlers after data changes
+     * Shows filteredPosts after data changes. The adapter works out which rows changed, so
+     * only those are rebound, and the swipe handler stays attached
+     * @param onShown run once the rows are in place, or null
      */
-    private void recreateAdapterAndHandlers() {
-        // Recreate adapter
-        postAdapter = new PostListAdapter(filteredPosts, MainActivity.this, pinManager);
-        postAdapter.setOnAuthorClickListener(this::openUserProfile);
-        recyclerViewPosts.setAdapter(postAdapter);
+    private void showFilteredPosts(Runnable onShown) {
+        if (postAdapter == null) {
+            postAdapter = new PostListAdapter(filteredPosts, this, pinManager);
+            postAdapter.setOnAuthorClickListener(this::openUserProfile);
+            recyclerViewPosts.setAdapter(postAdapter);
+            if (onShown != null) onShown.run();
+        } else {
+            postAdapter.submitList(filteredPosts, onShown);
+        }
 
-        // Reattach swipe handler with new adapter
-        setupSwipeToPin();
+        if (swipeHandler != null) {
+            swipeHandler.updatePostsList(filteredPosts);
+        } else {
+            // Not set up while there were no posts to swipe
+            setupSwipeToPin();
+        }
     }
 
     private void setupLongPressForUnpin() {
@@ -324,18 +327,16 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
         int newPosition = pinManager.pinPost(filteredPosts, post, currentPosition);
         pinManager.sortWithPinnedFirst(posts);
 
-        // Recreate adapter and handlers
-        recreateAdapterAndHandlers();
-        recyclerViewPosts.smoothScrollToPosition(newPosition);
+        // Only the moved post's row is rebound
+        showFilteredPosts(() -> recyclerViewPosts.smoothScrollToPosition(newPosition));
     }
 
     private void unpinPost(Post post, int currentPosition) {
         int newPosition = pinManager.unpinPostAndReposition(filteredPosts, post, currentPosition);
         pinManager.sortWithPinnedFirst(posts);
 
-        // Recreate adapter and handlers
-        recreateAdapterAndHandlers();
-        recyclerViewPosts.smoothScrollToPosition(newPosition);
+        // Only the moved post's row is rebound
+        showFilteredPosts(() -> recyclerViewPosts.smoothScrollToPosition(newPosition));
     }
 
     private void refreshPostList() {
@@ -344,9 +345,6 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
         pinManager.sortWithPinnedFirst(posts);
         filteredPosts = new ArrayList<>(posts);
 
-        // Recreate adapter and handlers
-        recreateAdapterAndHandlers();
-
         // Scroll to first unpinned post
         int pinnedCount = 0;
         for (Post post : filteredPosts) {
@@ -357,9 +355,12 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
             }
         }
 
-        if (pinnedCount < filteredPosts.size()) {
-            recyclerViewPosts.smoothScrollToPosition(pinnedCount);
-        }
+        final int firstUnpinned = pinnedCount;
+        showFilteredPosts(() -> {
+            if (firstUnpinned < filteredPosts.size()) {
+                recyclerViewPosts.smoothScrollToPosition(firstUnpinned);
+            }
+        });
     }
 
     @Override
@@ -378,14 +379,15 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
     @Override
     protected void onResume() {
         super.onResume();
+        if (!dataLoaded) return;
 
         // Reload posts from DAO (includes newly created posts)
         posts = searchHelper.loadAllPosts();
         pinManager.sortWithPinnedFirst(posts);
         filteredPosts = new ArrayList<>(posts);
 
-        // Recreate adapter and handlers to show new posts
-        recreateAdapterAndHandlers();
+        // Only new or changed posts' rows are rebound
+        showFilteredPosts(null);
 
         if (bottomNavigation != null) {
             bottomNavigation.setSelectedItemId(R.id.navigation_home);
@@ -406,17 +408,17 @@ public class MainActivity extends BaseActivity implements PostListAdapter.OnPost
         super.onNewIntent(intent);
         setIntent(intent);
 
-        if (intent.getBooleanExtra("REFRESH", false)) {
+        if (dataLoaded && intent.getBooleanExtra("REFRESH", false)) {
             posts = searchHelper.loadAllPosts();
             pinManager.sortWithPinnedFirst(posts);
             filteredPosts = new ArrayList<>(posts);
-            recreateAdapterAndHandlers();
+            showFilteredPosts(null);
         }
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        PostPersistenceManager.getInstance(this).savePosts();
+        PersistenceScheduler.getInstance().flush();
     }
 }
@@ -6,6 +6,9 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.hackathon.dao.UserDAO;
@@ -13,28 +16,73 @@ import com.example.hackathon.dao.model.Message;
 import com.example.hackathon.dao.model.User;
 import com.example.hackathon.helpers.ProfilePictureHelper;
 import com.example.hackathon.managers.PinMessageManager;
+import com.example.hackathon.persistentdata.DataManager;
+import com.example.hackathon.persistentdata.io.AndroidIOFactory;
 import com.example.hackathon.reactions.ReactionType;
 import com.example.hackathon.reactions.ReactionsFacade;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import androidx.core.content.ContextCompat;
 
+/**
+ * Shows a post's messages. New lists are compared with the one shown on a background
+ * thread, so only rows whose message moved, arrived, left or changed pin state are rebound.
+ */
 public class MessageAdapter extends RecyclerView.Adapter<MessageAdapter.ViewHolder> {
 
-    private Message[] localDataSet;
+    /**
+     * What a row shows, as of when its list was submitted
+     */
+    private record Row(Message message, boolean isPinned) {}
+
+    private static final DiffUtil.ItemCallback<Row> DIFF_CALLBACK = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.message().id().equals(newRow.message().id());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.equals(newRow);
+        }
+    };
+
+    private final AsyncListDiffer<Row> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private SimpleDateFormat dateFormat;
     private PinMessageManager pinManager;
     private UUID threadId;
 
     public MessageAdapter(ArrayList<Message> dataSet, UUID threadId) {
-        this.localDataSet = dataSet.toArray(new Message[0]);
         this.dateFormat = new SimpleDateFormat("MMM dd, HH:mm", Locale.getDefault());
         this.pinManager = PinMessageManager.getInstance();
         this.threadId = threadId;
+        updateMessages(dataSet);
+    }
+
+    /**
+     * Replaces the displayed messages, e.g. after another page has been loaded,
+     * rebinding only the rows that differ
+     */
+    public void updateMessages(List<Message> dataSet) {
+        updateMessages(dataSet, null);
+    }
+
+    /**
+     * Replaces the displayed messages, rebinding only the rows that differ
+     * @param dataSet the messages to show; copied, so the caller may go on changing its list
+     * @param onShown run on the main thread once the messages are shown, or null
+     */
+    public void updateMessages(List<Message> dataSet, Runnable onShown) {
+        List<Row> rows = new ArrayList<>();
+        for (Message message : dataSet) {
+            rows.add(new Row(message, pinManager.isPinned(threadId, message)));
+        }
+        differ.submitList(rows, onShown);
     }
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
@@ -153,7 +201,7 @@ public class MessageAdapter extends RecyclerView.Adapter<MessageAdapter.ViewHold
                     java.util.List<ReactionType> mine = ReactionsFacade.getReactions(me.id(), message.id());
                     if (mine != null) {
                         for (ReactionType r : mine) {
-                            ReactionsFacade.removeReaction(me.id(), message.id(), r);
+                            removeReaction(me, message, r);
                         }
                     }
                     updateReactionUI(me, message);
@@ -173,21 +221,35 @@ public class MessageAdapter extends RecyclerView.Adapter<MessageAdapter.ViewHold
                 boolean alreadySelected = mine != null && mine.size() == 1 && mine.contains(type);
 
                 if (alreadySelected) {
-                    ReactionsFacade.removeReaction(me.id(), message.id(), type);
+                    removeReaction(me, message, type);
                 } else {
                     if (mine != null) {
                         for (ReactionType r : mine) {
-                            if (r != type) ReactionsFacade.removeReaction(me.id(), message.id(), r);
+                            if (r != type) removeReaction(me, message, r);
                         }
                     }
                     if (mine == null || !mine.contains(type)) {
-                        ReactionsFacade.addReaction(me.id(), message.id(), type, System.currentTimeMillis());
+                        addReaction(me, message, type);
                     }
                 }
                 updateReactionUI(me, message);
             });
         }
 
+        // Reactions are recorded in the mutation log as they change, rather than saving everything
+        private void addReaction(User me, Message message, ReactionType type) {
+            long timestamp = System.currentTimeMillis();
+            if (ReactionsFacade.addReaction(me.id(), message.id(), type, timestamp)) {
+                new DataManager(new AndroidIOFactory(itemView.getContext())).logReactionAdded(me.id(), message.id(), type, timestamp);
+            }
+        }
+
+        private void removeReaction(User me, Message message, ReactionType type) {
+            if (ReactionsFacade.removeReaction(me.id(), message.id(), type)) {
+                new DataManager(new AndroidIOFactory(itemView.getContext())).logReactionRemoved(me.id(), message.id(), type);
+            }
+        }
+
         private void updateReactionUI(User me, Message message) {
             // counts row
             updateCountsRow(message);
@@ -213,11 +275,8 @@ public class MessageAdapter extends RecyclerView.Adapter<MessageAdapter.ViewHold
         private void updateCountsRow(Message message) {
             int like=0,love=0,laugh=0,happy=0,luck=0,congrats=0,surprise=0,sad=0,angry=0;
 
-            for (var it = UserDAO.getInstance().getAll(); it.hasNext();) {
-                User u = it.next();
-                java.util.List<ReactionType> r = ReactionsFacade.getReactions(u.id(), message.id());
-                if (r == null) continue;
-                for (ReactionType t : r) {
+            for (java.util.Map<ReactionType, Long> r : ReactionsFacade.getReactionsForMessage(message.id()).values()) {
+                for (ReactionType t : r.keySet()) {
                     switch (t) {
                         case LIKE -> like++;
                         case LOVE -> love++;
@@ -298,21 +357,22 @@ public class MessageAdapter extends RecyclerView.Adapter<MessageAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(ViewHolder viewHolder, final int position) {
-        Message message = localDataSet[position];
-        boolean isPinned = pinManager.isPinned(threadId, message);
-        viewHolder.display(message, isPinned, onAuthorClickListener);
+        Row row = differ.getCurrentList().get(position);
+        viewHolder.display(row.message(), row.isPinned(), onAuthorClickListener);
 
         // Set click listener on the entire message item
         viewHolder.itemView.setOnClickListener(v -> {
-            if (onClickListener != null) {
-                onClickListener.onClick(position, localDataSet[position]);
+            // Rows can move without being rebound, so ask where this one is now
+            int current = viewHolder.getAdapterPosition();
+            if (onClickListener != null && current != RecyclerView.NO_POSITION) {
+                onClickListener.onClick(current, differ.getCurrentList().get(current).message());
             }
         });
     }
 
     @Override
     public int getItemCount() {
-        return localDataSet.length;
+        return differ.getCurrentList().size();
     }
 
     // Message click listener
@@ -13,6 +13,8 @@ import com.bumptech.glide.Glide;
 import com.example.hackathon.dao.UserDAO;
 import com.example.hackathon.dao.model.Message;
 import com.example.hackathon.dao.model.User;
+import com.example.hackathon.persistentdata.DataManager;
+import com.example.hackathon.persistentdata.io.AndroidIOFactory;
 import com.example.hackathon.reactions.ReactionType;
 import com.example.hackathon.reactions.ReactionsFacade;
 
@@ -138,7 +140,7 @@ public class MessageFragment extends Fragment {
             List<ReactionType> existing = ReactionsFacade.getReactions(currentUser.id(), messageUUID);
             if (existing != null) {
                 for (ReactionType r : existing) {
-                    ReactionsFacade.removeReaction(currentUser.id(), messageUUID, r);
+                    removeReaction(r);
                 }
             }
             updateReactionUI();
@@ -182,23 +184,37 @@ public class MessageFragment extends Fragment {
             boolean alreadySelected = mine != null && mine.size() == 1 && mine.contains(type);
 
             if (alreadySelected) {
-                ReactionsFacade.removeReaction(currentUser.id(), messageUUID, type);
+                removeReaction(type);
             } else {
                 if (mine != null) {
                     for (ReactionType r : mine) {
                         if (r != type) {
-                            ReactionsFacade.removeReaction(currentUser.id(), messageUUID, r);
+                            removeReaction(r);
                         }
                     }
                 }
                 if (mine == null || !mine.contains(type)) {
-                    ReactionsFacade.addReaction(currentUser.id(), messageUUID, type, System.currentTimeMillis());
+                    addReaction(type);
                 }
             }
             updateReactionUI();
         });
     }
 
+    // Reactions are recorded in the mutation log as they change, rather than saving everything
+    private void addReaction(ReactionType type) {
+        long timestamp = System.currentTimeMillis();
+        if (ReactionsFacade.addReaction(currentUser.id(), messageUUID, type, timestamp)) {
+            new DataManager(new AndroidIOFactory(requireContext())).logReactionAdded(currentUser.id(), messageUUID, type, timestamp);
+        }
+    }
+
+    private void removeReaction(ReactionType type) {
+        if (ReactionsFacade.removeReaction(currentUser.id(), messageUUID, type)) {
+            new DataManager(new AndroidIOFactory(requireContext())).logReactionRemoved(currentUser.id(), messageUUID, type);
+        }
+    }
+
     private void updateReactionUI() {
         updateCountsRow();
 
@@ -242,12 +258,9 @@ public class MessageFragment extends Fragment {
         // counters
         int like=0,love=0,laugh=0,happy=0,luck=0,congrats=0,surprise=0,sad=0,angry=0;
 
-        // aggregate across users (uses existing API)
-        for (var it = UserDAO.getInstance().getAll(); it.hasNext();) {
-            User u = it.next();
-            List<ReactionType> r = ReactionsFacade.getReactions(u.id(), messageUUID);
-            if (r == null) continue;
-            for (ReactionType t : r) {
+        // aggregate over the reactions on this message only
+        for (Map<ReactionType, Long> r : ReactionsFacade.getReactionsForMessage(messageUUID).values()) {
+            for (ReactionType t : r.keySet()) {
                 switch (t) {
                     case LIKE -> like++;
                     case LOVE -> love++;
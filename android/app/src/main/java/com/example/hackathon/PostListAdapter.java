@@ -8,15 +8,23 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.hackathon.dao.UserDAO;
 import com.example.hackathon.dao.model.Post;
 import com.example.hackathon.dao.model.User;
 import com.example.hackathon.helpers.ProfilePictureHelper;
 import com.example.hackathon.managers.PinPostManager;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Shows a list of posts. New lists are handed over with submitList, and compared with the
+ * one shown on a background thread, so only rows whose post moved, arrived, left, changed
+ * pin state or gained messages are rebound and animated.
+ */
 public class PostListAdapter extends RecyclerView.Adapter<PostListAdapter.PostViewHolder> {
 
     public interface OnPostClickListener {
@@ -27,15 +35,56 @@ public class PostListAdapter extends RecyclerView.Adapter<PostListAdapter.PostVi
         void onAuthorClick(UUID authorUUID);
     }
 
-    private List<Post> posts;
+    /**
+     * What a row shows, as of when its list was submitted; rows for the same post are
+     * compared by these to tell whether it needs rebinding
+     */
+    private record Row(Post post, boolean isPinned, long messagesVersion) {}
+
+    private static final DiffUtil.ItemCallback<Row> DIFF_CALLBACK = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.post().id.equals(newRow.post().id);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row oldRow, @NonNull Row newRow) {
+            return oldRow.equals(newRow);
+        }
+    };
+
+    private final AsyncListDiffer<Row> differ = new AsyncListDiffer<>(this, DIFF_CALLBACK);
     private OnPostClickListener listener;
     private OnAuthorClickListener authorClickListener;
     private PinPostManager pinManager;
 
     public PostListAdapter(List<Post> posts, OnPostClickListener listener, PinPostManager pinManager) {
-        this.posts = posts;
         this.listener = listener;
         this.pinManager = pinManager;
+        submitList(posts);
+    }
+
+    /**
+     * Shows a new list of posts, rebinding only the rows that differ from the current list
+     */
+    public void submitList(List<Post> posts) {
+        submitList(posts, null);
+    }
+
+    /**
+     * Shows a new list of posts, rebinding only the rows that differ from the current list
+     * @param posts the posts to show; copied, so the caller may go on changing its list
+     * @param onShown run on the main thread once the list is shown, or null
+     */
+    public void submitList(List<Post> posts, Runnable onShown) {
+        List<Row> rows = new ArrayList<>();
+        if (posts != null) {
+            for (Post post : posts) {
+                long messagesVersion = post.messages != null ? post.messages.getVersion() : 0;
+                rows.add(new Row(post, pinManager.isPinned(post), messagesVersion));
+            }
+        }
+        differ.submitList(rows, onShown);
     }
 
     public void setOnAuthorClickListener(OnAuthorClickListener listener) {
@@ -52,14 +101,13 @@ public class PostListAdapter extends RecyclerView.Adapter<PostListAdapter.PostVi
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        Post post = posts.get(position);
-        boolean isPinned = pinManager.isPinned(post);
-        holder.bind(post, listener, authorClickListener, isPinned);
+        Row row = differ.getCurrentList().get(position);
+        holder.bind(row.post(), listener, authorClickListener, row.isPinned());
     }
 
     @Override
     public int getItemCount() {
-        return posts != null ? posts.size() : 0;
+        return differ.getCurrentList().size();
     }
 
     public static class PostViewHolder extends RecyclerView.ViewHolder {
@@ -8,6 +8,7 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
@@ -30,11 +31,14 @@ import com.example.hackathon.dao.model.Post;
 import com.example.hackathon.dao.model.User;
 import com.example.hackathon.dao.model.Message;
 import com.example.hackathon.managers.PinMessageManager;
+import com.example.hackathon.sorteddata.Page;
 import com.example.hackathon.ui.handlers.MessageSwipeHandler;
 import com.example.hackathon.ui.handlers.MessageLongPressHandler;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 public class PostViewerActivity extends BaseActivity {
@@ -49,6 +53,13 @@ public class PostViewerActivity extends BaseActivity {
     private ArrayList<Message> messages;
     private PinMessageManager pinMessageManager;
 
+    // Messages are read a page at a time as the list is scrolled
+    private static final int MESSAGE_PAGE_SIZE = 30;
+    private static final int MESSAGE_PREFETCH_DISTANCE = 10;
+    private Page.Cursor<Message> nextMessages;
+    // Messages shown above the pages because they were pinned, which paging must not add again
+    private Set<UUID> shownAbovePages = new HashSet<>();
+
     private FloatingActionButton fabAddMessage;
     private ActivityResultLauncher<Intent> addMessageLauncher;
 
@@ -88,6 +99,7 @@ public class PostViewerActivity extends BaseActivity {
         setupAddMessageFab();
         setupMessageSwipeToPin();
         setupMessageLongPress();
+        setupMessagePaging();
         setupBottomNavigation();
     }
 
@@ -151,13 +163,8 @@ public class PostViewerActivity extends BaseActivity {
 
     private void loadMessages() {
         if (currentPost != null && currentPost.messages != null) {
-            Iterator<Message> messageIterator = currentPost.messages.getAll();
-
             messages = new ArrayList<>();
-            messageIterator.forEachRemaining(messages::add);
-
-            // Sort to show pinned messages first
-            pinMessageManager.sortWithPinnedFirst(currentPost.id, messages);
+            loadFirstMessagePage();
 
             messageAdapter = new MessageAdapter(messages, currentPost.id);
 
@@ -191,25 +198,18 @@ public class PostViewerActivity extends BaseActivity {
                 new MessageSwipeHandler.OnMessagePinnedListener() {
                     @Override
                     public void onMessagePinned(int fromPosition, int toPosition) {
-                        messageAdapter = new MessageAdapter(messages, currentPost.id);
-                        messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-                        recyclerViewMessages.setAdapter(messageAdapter);
-                        recyclerViewMessages.smoothScrollToPosition(toPosition);
+                        messageAdapter.updateMessages(messages, () -> recyclerViewMessages.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
                     public void onMessageUnpinned(int fromPosition, int toPosition) {
-                        messageAdapter = new MessageAdapter(messages, currentPost.id);
-                        messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-                        recyclerViewMessages.setAdapter(messageAdapter);
-                        recyclerViewMessages.smoothScrollToPosition(toPosition);
+                        messageAdapter.updateMessages(messages, () -> recyclerViewMessages.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
                     public void onSwipeCancelled(int position) {
-                        messageAdapter = new MessageAdapter(messages, currentPost.id);
-                        messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-                        recyclerViewMessages.setAdapter(messageAdapter);
+                        // Rebinding the row brings it back from where it was swiped to
+                        messageAdapter.notifyItemChanged(position);
                     }
                 });
 
@@ -268,10 +268,8 @@ public class PostViewerActivity extends BaseActivity {
         messages.remove(currentPosition);
         messages.add(0, message);
 
-        messageAdapter = new MessageAdapter(messages, currentPost.id);
-        messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-        recyclerViewMessages.setAdapter(messageAdapter);
-        recyclerViewMessages.smoothScrollToPosition(0);
+        // Only the moved message's row is rebound
+        messageAdapter.updateMessages(messages, () -> recyclerViewMessages.smoothScrollToPosition(0));
     }
 
     private void unpinMessage(Message message, int currentPosition) {
@@ -293,10 +291,56 @@ public class PostViewerActivity extends BaseActivity {
         messages.remove(currentPosition);
         messages.add(newPosition, message);
 
-        messageAdapter = new MessageAdapter(messages, currentPost.id);
-        messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-        recyclerViewMessages.setAdapter(messageAdapter);
-        recyclerViewMessages.smoothScrollToPosition(newPosition);
+        // Only the moved message's row is rebound
+        final int scrollTo = newPosition;
+        messageAdapter.updateMessages(messages, () -> recyclerViewMessages.smoothScrollToPosition(scrollTo));
+    }
+
+    private void loadFirstMessagePage() {
+        // Every pinned message goes at the top straight away, however far down its page is,
+        // so that later pages only ever add rows below the ones already shown
+        List<Message> pinned = new ArrayList<>();
+        for (UUID id : pinMessageManager.getPinnedMessageIds(currentPost.id)) {
+            Message message = PostDAO.getInstance().getMessage(id);
+            if (message != null && message.thread().equals(currentPost.id)) {
+                pinned.add(message);
+            }
+        }
+        pinned.sort(MessageComparator.getInstance());
+
+        shownAbovePages = new HashSet<>();
+        for (Message message : pinned) {
+            shownAbovePages.add(message.id());
+        }
+        messages.addAll(pinned);
+
+        // Messages are sorted newest first, so the first page is the latest messages
+        appendMessagePage(currentPost.messages.getPage(MESSAGE_PAGE_SIZE, false));
+    }
+
+    private void appendMessagePage(Page<Message> page) {
+        for (Message message : page.items()) {
+            if (!shownAbovePages.contains(message.id())) {
+                messages.add(message);
+            }
+        }
+        nextMessages = page.next();
+    }
+
+    private void setupMessagePaging() {
+        recyclerViewMessages.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (nextMessages == null || dy <= 0 || messageAdapter == null) return;
+
+                LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+                if (layoutManager != null
+                        && layoutManager.findLastVisibleItemPosition() >= messages.size() - MESSAGE_PREFETCH_DISTANCE) {
+                    appendMessagePage(currentPost.messages.getPage(nextMessages, MESSAGE_PAGE_SIZE));
+                    messageAdapter.updateMessages(messages);
+                }
+            }
+        });
     }
 
     private void setupBackButton() {
@@ -318,20 +362,15 @@ public class PostViewerActivity extends BaseActivity {
     private void refreshMessages() {
         if (currentPost != null && currentPost.messages != null) {
             messages.clear();
+            loadFirstMessagePage();
 
-            Iterator<Message> messageIterator = currentPost.messages.getAll();
-            messageIterator.forEachRemaining(messages::add);
-
-            pinMessageManager.sortWithPinnedFirst(currentPost.id, messages);
-
-            messageAdapter = new MessageAdapter(messages, currentPost.id);
-            messageAdapter.setOnAuthorClickListener(authorUUID -> openUserProfile(authorUUID));
-            recyclerViewMessages.setAdapter(messageAdapter);
-
-            // Scroll to the top to show newest message
-            if (!messages.isEmpty()) {
-                recyclerViewMessages.smoothScrollToPosition(0);
-            }
+            // Messages already shown keep their rows; only the new one is bound
+            messageAdapter.updateMessages(messages, () -> {
+                // Scroll to the top to show newest message
+                if (!messages.isEmpty()) {
+                    recyclerViewMessages.smoothScrollToPosition(0);
+                }
+            });
         }
     }
 
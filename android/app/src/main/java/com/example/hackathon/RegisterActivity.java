@@ -15,6 +15,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import com.example.hackathon.dao.UserDAO;
 import com.example.hackathon.dao.model.User;
 import com.example.hackathon.persistentdata.DataManager;
+import com.example.hackathon.persistentdata.PersistenceScheduler;
 import com.example.hackathon.persistentdata.io.AndroidIOFactory;
 
 public class RegisterActivity extends AppCompatActivity {
@@ -30,9 +31,6 @@ public class RegisterActivity extends AppCompatActivity {
 
         PersistentBootstrap.ensureSeedUsers(this);
 
-        DataManager dm = new DataManager(new AndroidIOFactory(this));
-        try { dm.readAll(); } catch (Exception ignored) {}
-
         usernameInput = findViewById(R.id.usernameInput);
         passwordInput = findViewById(R.id.passwordInput);
         confirmPasswordInput = findViewById(R.id.confirmPasswordInput);
@@ -46,6 +44,20 @@ public class RegisterActivity extends AppCompatActivity {
 
         registerButton.setOnClickListener(v -> handleRegister());
         backToLoginButton.setOnClickListener(v -> finish());
+
+        // Existing usernames must be loaded before a new one can be checked against them
+        registerButton.setEnabled(false);
+        new DataManager(new AndroidIOFactory(this)).readAllAsync()
+                .exceptionally(e -> null)
+                .thenRunAsync(() -> {
+                    if (!isDestroyed()) registerButton.setEnabled(true);
+                }, getMainExecutor());
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        PersistenceScheduler.getInstance().flush();
     }
 
     private void togglePassword(EditText et, boolean visible) {
@@ -91,9 +103,6 @@ public class RegisterActivity extends AppCompatActivity {
 
     private void handleRegister() {
         DataManager dm = new DataManager(new AndroidIOFactory(this));
-        try {
-            dm.readAll();
-        } catch (Exception ignored) {}
 
         String username = usernameInput.getText().toString().trim();
         String password = passwordInput.getText().toString().trim();
@@ -121,7 +130,7 @@ public class RegisterActivity extends AppCompatActivity {
         }
 
         try {
-            dm.writeAll();
+            dm.logUser(newUser);
         } catch (Exception e) {
             Log.e("RegisterActivity", "Failed to save user data", e);
             Toast.makeText(this, "Error saving user. Please try again.", Toast.LENGTH_SHORT).show();
@@ -8,6 +8,7 @@ import androidx.appcompat.widget.SearchView;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.hackathon.helpers.PostSearchHelper;
+import com.example.hackathon.helpers.SearchExecutor;
 import com.example.hackathon.dao.model.Post;
 import com.example.hackathon.managers.PinPostManager;
 import com.example.hackathon.managers.ThemeManager;
@@ -31,6 +32,7 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
     private PinPostManager pinManager;
     private PostSearchHelper searchHelper;
     private PostSwipeHandler swipeHandler;
+    private SearchExecutor<Post> searchExecutor;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -40,6 +42,7 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
 
         pinManager = PinPostManager.getInstance(this);
         searchHelper = new PostSearchHelper(pinManager);
+        searchExecutor = new SearchExecutor<>(getMainExecutor());
 
         initializeViews();
         setupSearchView();
@@ -62,7 +65,7 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
         searchViewPosts.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override
             public boolean onQueryTextSubmit(String query) {
-                filterPosts(query);
+                filterPostsNow(query);
                 return true;
             }
 
@@ -75,7 +78,7 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
 
         searchViewPosts.setOnCloseListener(() -> {
             searchViewPosts.setQuery("", false);
-            filterPosts("");
+            filterPostsNow("");
             searchViewPosts.clearFocus();
             return true;
         });
@@ -87,14 +90,34 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
         updatePostList();
     }
 
+    /**
+     * Searches in the background once typing pauses; results arrive in showResults
+     */
     private void filterPosts(String query) {
         if (posts == null) {
             return;
         }
 
-        filteredPosts = searchHelper.filterPosts(posts, query);
-        pinManager.sortWithPinnedFirst(filteredPosts);
+        // A copy, as posts is re-sorted in place on this thread while the search runs
+        List<Post> source = new ArrayList<>(posts);
+        searchExecutor.submit(() -> searchHelper.filterPosts(source, query), this::showResults);
+    }
+
+    /**
+     * Like filterPosts, but starts straight away, for a submitted or cleared query
+     */
+    private void filterPostsNow(String query) {
+        if (posts == null) {
+            return;
+        }
+
+        List<Post> source = new ArrayList<>(posts);
+        searchExecutor.submitNow(() -> searchHelper.filterPosts(source, query), this::showResults);
+    }
 
+    private void showResults(List<Post> results) {
+        // The helper already sorted them with pinned posts first
+        filteredPosts = new ArrayList<>(results);
         updatePostList();
 
         if (filteredPosts.isEmpty()) {
@@ -107,24 +130,31 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
     }
 
     private void updatePostList() {
-        // Create new adapter
-        postAdapter = new PostListAdapter(filteredPosts, this, pinManager);
-        postAdapter.setOnAuthorClickListener(this::openUserProfile);
-        recyclerViewPosts.setAdapter(postAdapter);
-
-        // Update the swipe handler's list reference OR recreate it
-        if (swipeHandler != null) {
-            swipeHandler.detach();
+        updatePostList(null);
+    }
+
+    /**
+     * Shows filteredPosts. The adapter and swipe handler are made once; after that the
+     * adapter works out which rows changed, so only those are rebound
+     * @param onShown run once the rows are in place, or null
+     */
+    private void updatePostList(Runnable onShown) {
+        if (postAdapter == null) {
+            postAdapter = new PostListAdapter(filteredPosts, this, pinManager);
+            postAdapter.setOnAuthorClickListener(this::openUserProfile);
+            recyclerViewPosts.setAdapter(postAdapter);
+            setupSwipeToPin();
+            if (onShown != null) onShown.run();
+        } else {
+            postAdapter.submitList(filteredPosts, onShown);
+            swipeHandler.updatePostsList(filteredPosts);
         }
-        setupSwipeToPin();
     }
 
     /**
      * Sets up swipe to pin/unpin functionality
-     * MUST be called after filteredPosts is updated
+     * Called once, when the adapter is made
      */
-
-
     private void setupSwipeToPin() {
         swipeHandler = new PostSwipeHandler(this, filteredPosts, recyclerViewPosts,
                 new PostSwipeHandler.OnPostPinnedListener() {
@@ -132,21 +162,20 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
                     public void onPostPinned(int fromPosition, int toPosition) {
                         pinManager.sortWithPinnedFirst(posts);
                         pinManager.sortWithPinnedFirst(filteredPosts);
-                        updatePostList();
-                        recyclerViewPosts.smoothScrollToPosition(toPosition);
+                        updatePostList(() -> recyclerViewPosts.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
                     public void onPostUnpinned(int fromPosition, int toPosition) {
                         pinManager.sortWithPinnedFirst(posts);
                         pinManager.sortWithPinnedFirst(filteredPosts);
-                        updatePostList();
-                        recyclerViewPosts.smoothScrollToPosition(toPosition);
+                        updatePostList(() -> recyclerViewPosts.smoothScrollToPosition(toPosition));
                     }
 
                     @Override
                     public void onSwipeCancelled(int position) {
-                        updatePostList();
+                        // Rebinding the row brings it back from where it was swiped to
+                        postAdapter.notifyItemChanged(position);
                     }
                 });
 
@@ -248,22 +277,16 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
         int newPosition = pinManager.pinPost(filteredPosts, post, currentPosition);
         pinManager.sortWithPinnedFirst(posts);
 
-        // Recreate adapter for instant update (no animation)
-        postAdapter = new PostListAdapter(filteredPosts, SearchActivity.this, pinManager);
-        postAdapter.setOnAuthorClickListener(this::openUserProfile);
-        recyclerViewPosts.setAdapter(postAdapter);
-        recyclerViewPosts.smoothScrollToPosition(newPosition);
+        // Only the moved post's row is rebound
+        updatePostList(() -> recyclerViewPosts.smoothScrollToPosition(newPosition));
     }
 
     private void unpinPost(Post post, int currentPosition) {
         int newPosition = pinManager.unpinPostAndReposition(filteredPosts, post, currentPosition);
         pinManager.sortWithPinnedFirst(posts);
 
-        // Recreate adapter for instant update (no animation)
-        postAdapter = new PostListAdapter(filteredPosts, SearchActivity.this, pinManager);
-        postAdapter.setOnAuthorClickListener(this::openUserProfile);
-        recyclerViewPosts.setAdapter(postAdapter);
-        recyclerViewPosts.smoothScrollToPosition(newPosition);
+        // Only the moved post's row is rebound
+        updatePostList(() -> recyclerViewPosts.smoothScrollToPosition(newPosition));
     }
 
     @Override
@@ -286,13 +309,19 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
         pinManager.sortWithPinnedFirst(posts);
 
         String currentQuery = searchViewPosts.getQuery().toString();
-        filterPosts(currentQuery);
+        filterPostsNow(currentQuery);
 
         if (bottomNavigation != null) {
             bottomNavigation.setSelectedItemId(R.id.navigation_search);
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        searchExecutor.shutdown();
+    }
+
     @Override
     protected void setBottomNavigationSelectedItem() {
         if (bottomNavigation != null) {
@@ -313,6 +342,6 @@ public class SearchActivity extends BaseActivity implements PostListAdapter.OnPo
     private void refreshFromNavigation() {
         posts = searchHelper.loadAllPosts();
         String currentQuery = searchViewPosts.getQuery().toString();
-        filterPosts(currentQuery);
+        filterPostsNow(currentQuery);
     }
 }
@@ -370,8 +370,13 @@ public class UserProfileActivity extends BaseActivity implements PostListAdapter
             textViewPostsHeader.setVisibility(View.VISIBLE);
             emptyStateContainer.setVisibility(View.GONE);
 
-            postAdapter = new PostListAdapter(userPosts, this, pinManager);
-            recyclerViewUserPosts.setAdapter(postAdapter);
+            if (postAdapter == null) {
+                postAdapter = new PostListAdapter(userPosts, this, pinManager);
+                recyclerViewUserPosts.setAdapter(postAdapter);
+            } else {
+                // Reloaded on every resume, so keep the rows that have not changed
+                postAdapter.submitList(userPosts);
+            }
         }
     }
 
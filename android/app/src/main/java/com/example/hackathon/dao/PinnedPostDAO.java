@@ -3,16 +3,21 @@ package com.example.hackathon.dao;
 import com.example.hackathon.dao.model.PinnedPost;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * DAO for managing pinned posts
  */
 public class PinnedPostDAO {
     private static PinnedPostDAO instance;
-    private final List<PinnedPost> pinnedPosts;
+    private final CopyOnWriteArrayList<PinnedPost> pinnedPosts;
+    // Bumped by every change, so that DataManager can skip rewriting an unchanged file
+    private final AtomicLong version = new AtomicLong();
 
     private PinnedPostDAO() {
-        this.pinnedPosts = new ArrayList<>();
+        // Read while sorting search results on a background thread, and only written by pinning
+        this.pinnedPosts = new CopyOnWriteArrayList<>();
     }
 
     public static synchronized PinnedPostDAO getInstance() {
@@ -23,13 +28,15 @@ public class PinnedPostDAO {
     }
 
     public void add(PinnedPost pinnedPost) {
-        if (!pinnedPosts.contains(pinnedPost)) {
-            pinnedPosts.add(pinnedPost);
+        if (pinnedPosts.addIfAbsent(pinnedPost)) {
+            version.incrementAndGet();
         }
     }
 
     public void remove(UUID userId, UUID postId) {
-        pinnedPosts.removeIf(p -> p.getUserId().equals(userId) && p.getPostId().equals(postId));
+        if (pinnedPosts.removeIf(p -> p.getUserId().equals(userId) && p.getPostId().equals(postId))) {
+            version.incrementAndGet();
+        }
     }
 
     public boolean isPinned(UUID userId, UUID postId) {
@@ -53,5 +60,13 @@ public class PinnedPostDAO {
 
     public void clear() {
         pinnedPosts.clear();
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return a number that changes whenever a pin is added or removed
+     */
+    public long getVersion() {
+        return version.get();
     }
 }
@@ -36,6 +36,8 @@ public class PostComparator implements Comparator<Post> {
     /**
      * Gets the timestamp of the most recent message in a post.
      * If no messages exist, uses 0.
+     * Messages are kept sorted by time, so the newest is at one end or the other; reading
+     * just the two ends avoids walking every message on every comparison.
      */
     private long getLatestTimestamp(Post post) {
         if (post.messages == null) {
@@ -43,14 +45,11 @@ public class PostComparator implements Comparator<Post> {
         }
 
         long latestTimestamp = 0;
-        Iterator<Message> messageIterator = post.messages.getAll();
+        Iterator<Message> first = post.messages.getRange(null, 1, false);
+        Iterator<Message> last = post.messages.getRange(null, 1, true);
 
-        while (messageIterator.hasNext()) {
-            Message message = messageIterator.next();
-            if (message.timestamp() > latestTimestamp) {
-                latestTimestamp = message.timestamp();
-            }
-        }
+        if (first.hasNext()) latestTimestamp = Math.max(latestTimestamp, first.next().timestamp());
+        if (last.hasNext()) latestTimestamp = Math.max(latestTimestamp, last.next().timestamp());
 
         return latestTimestamp;
     }
@@ -79,21 +79,7 @@ public class UserDAO extends DAO<User> {
 		//String hashedPassword = password;
 
 		User newUser = new User(UUID.randomUUID(), User.Role.Member, username, hashedPassword, profilePictureUrl);
-		return data.insert(newUser) ? newUser : null;
-	}
-
-
-	/**
-	 * Fetches a User by just a UUID
-	 * @param id the UUID to search for
-	 * @return the user if they exist, else null
-	 */
-	public User getByUUID(UUID id) {
-		for (Iterator<User> it = data.getAll(); it.hasNext(); ) {
-            User user = it.next();
-            if (user.getUUID().equals(id)) return user;
-        }
-		return null;
+		return add(newUser) ? newUser : null;
 	}
 
 	/**
@@ -128,7 +114,7 @@ public class UserDAO extends DAO<User> {
 				}
 			}
 
-			data.insert(updatedUser);
+			add(updatedUser);
 			System.out.println("Profile image attached successfully for user: " + updatedUser.username());
 
 		} catch (IOException e) {
@@ -0,0 +1,7 @@
+package com.example.hackathon.dao.model;
+
+import com.example.hackathon.reactions.ReactionType;
+
+import java.util.UUID;
+
+public record Reaction(UUID message, UUID user, ReactionType type, long timestamp) {}
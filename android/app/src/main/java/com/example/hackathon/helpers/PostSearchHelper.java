@@ -2,15 +2,16 @@ package com.example.hackathon.helpers;
 
 import com.example.hackathon.dao.PostComparator;
 import com.example.hackathon.dao.PostDAO;
-import com.example.hackathon.dao.UserDAO;
-import com.example.hackathon.dao.model.Message;
+import com.example.hackathon.dao.PostSearchIndex;
 import com.example.hackathon.dao.model.Post;
-import com.example.hackathon.dao.model.User;
 import com.example.hackathon.managers.PinPostManager;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Helper class for post searching and filtering functionality.
@@ -18,8 +19,15 @@ import java.util.List;
  */
 public class PostSearchHelper {
 
+    // The most results a search returns, best first
+    public static final int RESULT_LIMIT = 50;
+
     private final PinPostManager pinManager;
 
+    // The posts last searched, by UUID, so ranked results can be looked up without walking them
+    private List<Post> lastSource;
+    private Map<UUID, Post> lastSourceById;
+
     public PostSearchHelper(PinPostManager pinManager) {
         this.pinManager = pinManager;
     }
@@ -45,58 +53,36 @@ public class PostSearchHelper {
     /**
      * Filters posts based on search query
      * Searches in: post title, post messages, and author username
+     * Matches come from PostSearchIndex, so no post's text is scanned per keystroke. They are
+     * ranked best first, by where the query appears, how often and how recently the post was
+     * active, and only the best RESULT_LIMIT are returned.
      */
-    public List<Post> filterPosts(List<Post> posts, String query) {
+    public synchronized List<Post> filterPosts(List<Post> posts, String query) {
         List<Post> filteredPosts = new ArrayList<>();
 
         if (query == null || query.trim().isEmpty()) {
             filteredPosts.addAll(posts);
         } else {
-            String lowerCaseQuery = query.toLowerCase().trim();
-
-            for (Post post : posts) {
-                // Search in post title
-                if (post.topic != null && post.topic.toLowerCase().contains(lowerCaseQuery)) {
-                    filteredPosts.add(post);
-                    continue;
-                }
-
-                // Search in post messages
-                if (searchInMessages(post, lowerCaseQuery)) {
-                    filteredPosts.add(post);
-                    continue;
+            // The given list is usually the same from one keystroke to the next
+            if (!posts.equals(lastSource)) {
+                lastSource = new ArrayList<>(posts);
+                lastSourceById = new HashMap<>();
+                for (Post post : posts) {
+                    lastSourceById.put(post.id, post);
                 }
+            }
 
-                // Search in author username
-                User author = UserDAO.getInstance().getByUUID(post.poster);
-                if (author != null && author.username() != null &&
-                        author.username().toLowerCase().contains(lowerCaseQuery)) {
+            for (UUID id : PostSearchIndex.getInstance().search(query, RESULT_LIMIT)) {
+                Post post = lastSourceById.get(id);
+                if (post != null) {
                     filteredPosts.add(post);
                 }
             }
         }
 
-        // Sort filtered posts with pinned first
+        // Sort filtered posts with pinned first, keeping their rank otherwise
         pinManager.sortWithPinnedFirst(filteredPosts);
 
         return filteredPosts;
     }
-
-    /**
-     * Searches for query in post messages
-     */
-    private boolean searchInMessages(Post post, String query) {
-        if (post.messages == null) {
-            return false;
-        }
-
-        Iterator<Message> messageIterator = post.messages.getAll();
-        while (messageIterator.hasNext()) {
-            Message message = messageIterator.next();
-            if (message.message() != null && message.message().toLowerCase().contains(query)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
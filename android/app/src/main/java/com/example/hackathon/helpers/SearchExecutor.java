@@ -0,0 +1,114 @@
+package com.example.hackathon.helpers;
+
+import android.util.Log;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs searches on a background thread, so typing never waits for one.
+ * Keystrokes are debounced: a search only starts once typing pauses briefly,
+ * and each new search supersedes the previous one, which is dropped if it has
+ * not started and interrupted if it has. A search that fails delivers no results.
+ * Results are handed over whole, in one go, so the list showing them is diffed
+ * once rather than once for every part.
+ */
+public class SearchExecutor<T> {
+
+    public interface OnResults<T> {
+        /**
+         * Called on the delivery executor with a search's results, which replace the previous search's
+         * @param results every result, in order
+         */
+        void onResults(List<T> results);
+    }
+
+    private static final String TAG = "SearchExecutor";
+    private static final long DEBOUNCE_MILLIS = 150;
+
+    private final Executor deliverOn;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Numbers each search, so that a superseded one can tell it is out of date
+    private final AtomicInteger latest = new AtomicInteger();
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param deliverOn where results are delivered, usually the main thread's executor
+     */
+    public SearchExecutor(Executor deliverOn) {
+        this.deliverOn = deliverOn;
+    }
+
+    /**
+     * Runs a search once typing has paused, replacing any search not yet finished
+     * @param search produces the results; called on the background thread, which is
+     *               interrupted if a newer search replaces it
+     * @param onResults receives them
+     */
+    public void submit(Supplier<List<T>> search, OnResults<T> onResults) {
+        schedule(search, onResults, DEBOUNCE_MILLIS);
+    }
+
+    /**
+     * Like {@link #submit}, but without waiting, for when the query is final
+     */
+    public void submitNow(Supplier<List<T>> search, OnResults<T> onResults) {
+        schedule(search, onResults, 0);
+    }
+
+    /**
+     * Drops any search not yet finished, without starting another
+     */
+    public synchronized void cancel() {
+        latest.incrementAndGet();
+        if (pending != null) pending.cancel(true);
+        pending = null;
+    }
+
+    /**
+     * Cancels any search and stops the background thread
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdownNow();
+    }
+
+    private synchronized void schedule(Supplier<List<T>> search, OnResults<T> onResults, long delayMillis) {
+        int sequence = latest.incrementAndGet();
+        // Interrupts the previous search if it is already running, so it stops early
+        if (pending != null) pending.cancel(true);
+        pending = executor.schedule(() -> run(sequence, search, onResults), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(int sequence, Supplier<List<T>> search, OnResults<T> onResults) {
+        if (sequence != latest.get()) return;
+        List<T> results;
+        try {
+            results = search.get();
+        } catch (RuntimeException e) {
+            // Interrupted by a newer search, which delivers its own results
+            if (sequence != latest.get()) return;
+            Log.e(TAG, "Search failed", e);
+            results = Collections.emptyList();
+        }
+        deliver(sequence, results, onResults);
+    }
+
+    private void deliver(int sequence, List<T> results, OnResults<T> onResults) {
+        deliverOn.execute(() -> {
+            // Checked again here, as a newer search may have started while this was queued
+            if (sequence == latest.get()) onResults.onResults(results);
+        });
+    }
+}
@@ -190,6 +190,17 @@ public class PinMessageManager {
         return pinnedMessages != null && pinnedMessages.contains(message.id());
     }
 
+    /**
+     * Gets the messages pinned in a thread for the current user
+     * @return a copy of their UUIDs, empty if there are none
+     */
+    public Set<UUID> getPinnedMessageIds(UUID threadId) {
+        checkAndRefreshUser();
+
+        Set<UUID> pinnedMessages = pinnedMessagesByThread.get(threadId);
+        return pinnedMessages == null ? new HashSet<>() : new HashSet<>(pinnedMessages);
+    }
+
     /**
      * Sorts messages with pinned messages first
      */
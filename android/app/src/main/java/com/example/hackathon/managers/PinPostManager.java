@@ -43,8 +43,9 @@ public class PinPostManager {
     public int pinPost(List<Post> posts, Post post, int currentPosition) {
         if (currentUserId == null) return currentPosition;
 
-        PinnedPostDAO.getInstance().add(new PinnedPost(currentUserId, post.getUUID()));
-        savePinnedPosts();
+        PinnedPost pin = new PinnedPost(currentUserId, post.getUUID());
+        PinnedPostDAO.getInstance().add(pin);
+        savePinnedPost(pin, true);
 
         posts.remove(currentPosition);
         posts.add(0, post);
@@ -57,7 +58,7 @@ public class PinPostManager {
         if (currentUserId == null) return currentPosition;
 
         PinnedPostDAO.getInstance().remove(currentUserId, post.getUUID());
-        savePinnedPosts();
+        savePinnedPost(new PinnedPost(currentUserId, post.getUUID()), false);
 
         posts.remove(currentPosition);
 
@@ -102,11 +103,15 @@ public class PinPostManager {
         Log.d(TAG, "Found " + pinned.size() + " pinned posts and " + unpinned.size() + " unpinned posts");
     }
 
-    private void savePinnedPosts() {
+    private void savePinnedPost(PinnedPost pin, boolean pinned) {
         DataManager dm = new DataManager(new AndroidIOFactory(context));
         try {
-            dm.writeAll();
-            Log.d(TAG, "Saved pinned posts to CSV");
+            if (pinned) {
+                dm.logPin(pin);
+            } else {
+                dm.logUnpin(pin);
+            }
+            Log.d(TAG, "Logged pinned post change");
         } catch (Exception e) {
             Log.e(TAG, "Error saving pinned posts", e);
         }
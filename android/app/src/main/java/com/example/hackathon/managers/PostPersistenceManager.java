@@ -108,6 +108,7 @@ public class PostPersistenceManager {
 
             // Clear PostDAO
             PostDAO.getInstance().clear();
+            List<Post> posts = new ArrayList<>();
 
             for (JsonElement element : jsonArray) {
                 JsonObject postObj = element.getAsJsonObject();
@@ -124,6 +125,7 @@ public class PostPersistenceManager {
                 // Restore messages
                 JsonArray messagesArray = postObj.getAsJsonArray("messages");
                 if (messagesArray != null) {
+                    List<Message> messages = new ArrayList<>(messagesArray.size());
                     for (JsonElement msgElement : messagesArray) {
                         JsonObject msgObj = msgElement.getAsJsonObject();
 
@@ -135,16 +137,20 @@ public class PostPersistenceManager {
 
                         // Create Message using the record constructor
                         Message message = new Message(msgId, msgPosterId, msgThreadId, msgTimestamp, msgText);
-                        post.messages.insert(message);
+                        messages.add(message);
                     }
+                    // Saved in order, so this builds the post's replies in linear time
+                    post.messages.bulkLoad(messages.iterator());
                 }
 
-                PostDAO.getInstance().add(post);
+                posts.add(post);
 
                 Log.d(TAG, "Restored post: " + postId + " - " + topic + " with " +
                         (messagesArray != null ? messagesArray.size() : 0) + " messages");
             }
 
+            PostDAO.getInstance().addAll(posts.iterator());
+
             return true;
 
         } catch (Exception e) {
@@ -1,18 +1,22 @@
 package  com.example.hackathon.persistentdata;
 
 import  com.example.hackathon.persistentdata.formatted.*;
+import  com.example.hackathon.persistentdata.io.AtomicOutputStream;
 import  com.example.hackathon.persistentdata.io.IOFactory;
 import  com.example.hackathon.persistentdata.serialization.*;
 import  com.example.hackathon.dao.*;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 public class DataPipeline<T, S> {
 	private final IOFactory ioFactory;
 	private final FormattedFactory<S> formattedFactory;
 	private final Serializer<T, S> serializer;
 	private final String filename;
+	private volatile int damaged = 0;
 
 	public DataPipeline(IOFactory ioFactory, FormattedFactory<S> formattedFactory, Serializer<T, S> serializer, String filename) {
 		this.ioFactory = ioFactory;
@@ -26,16 +30,19 @@ public class DataPipeline<T, S> {
 	private static final PostDAO posts = PostDAO.getInstance();
 
 	public void writeFrom(Iterator<T> iterator) {
-		try {
-			Writer writer = ioFactory.writer(filename);
-			if (writer == null) return;
-			FormattedWriter<S> formattedWriter = formattedFactory.writer(writer);
+		// The file is only replaced once every row is written, so a crash or an exception
+		// part way through leaves the previous file intact
+		try (AtomicOutputStream stream = ioFactory.atomicOutputStream(filename)) {
+			if (stream == null) return;
+			FormattedWriter<S> formattedWriter = formattedFactory.writer(stream);
 
+			formattedWriter.putHeader();
 			while (iterator.hasNext()) {
 				formattedWriter.putNext(serializer.serialize(iterator.next()));
 			}
+			formattedWriter.putFooter();
 
-			writer.close();
+			stream.commit();
 		} catch (IOException e) {
 			throw new PersistentDataException(e.getMessage());
 		}
@@ -46,18 +53,62 @@ public class DataPipeline<T, S> {
 	}
 
 	public void readTo(AddToDAO<T> callback) {
+		read(callback, false);
+	}
+
+	private void read(AddToDAO<T> callback, boolean skipDamaged) {
+		int skipped = 0;
 		try {
-			Reader reader = ioFactory.reader(filename);
-			if (reader == null) return;
-			FormattedReader<S> formattedReader = formattedFactory.reader(reader);
+			InputStream stream = ioFactory.inputStream(filename);
+			if (stream != null) {
+				FormattedReader<S> formattedReader = formattedFactory.reader(stream);
 
-			while (formattedReader.hasNext()) {
-				callback.run(serializer.deserialize(formattedReader.getNext()));
-			}
+				while (formattedReader.hasNext()) {
+					T item;
+					try {
+						item = serializer.deserialize(formattedReader.getNext());
+					} catch (RuntimeException e) {
+						if (!skipDamaged) throw e;
+						// The reader stops at the end of a short line, so later rows are still read
+						skipped++;
+						continue;
+					}
+					callback.run(item);
+				}
 
-			reader.close();
+				stream.close();
+			}
 		} catch (IOException e) {
 			throw new PersistentDataException(e.getMessage());
 		}
+		damaged = skipped;
+	}
+
+	/**
+	 * Reads every item in the file into a list, so that callers can load them in bulk
+	 * @return the items in file order, or an empty list if there is no file
+	 */
+	public List<T> readList() {
+		List<T> items = new ArrayList<>();
+		readTo(items::add);
+		return items;
+	}
+
+	/**
+	 * Like {@link #readList()}, but skips rows that cannot be read or deserialized instead of
+	 * failing, for files that may have been edited by hand. Skipped rows are counted in {@link #damaged()}.
+	 * @return the readable items in file order, or an empty list if there is no file
+	 */
+	public List<T> readListSkippingDamaged() {
+		List<T> items = new ArrayList<>();
+		read(items::add, true);
+		return items;
+	}
+
+	/**
+	 * @return the number of rows the last read had to skip
+	 */
+	public int damaged() {
+		return damaged;
 	}
 }
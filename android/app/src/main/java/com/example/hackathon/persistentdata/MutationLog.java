@@ -0,0 +1,156 @@
+package  com.example.hackathon.persistentdata;
+
+import  com.example.hackathon.persistentdata.formatted.CSVFormat;
+import  com.example.hackathon.persistentdata.formatted.CSVFormattedFactory;
+import  com.example.hackathon.persistentdata.formatted.CSVWriter;
+import  com.example.hackathon.persistentdata.formatted.FormattedReader;
+import  com.example.hackathon.persistentdata.io.AtomicOutputStream;
+import  com.example.hackathon.persistentdata.io.IOFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An append-only log of mutations made since the snapshot files were last written.
+ * Each entry is one CSV line holding the operation, up to five fields and an end
+ * marker, so that recording a mutation costs one short append rather than a full
+ * rewrite. An entry cut short by a crash has no end marker and is skipped on replay.
+ */
+public class MutationLog {
+	public enum Operation {
+		ADD_USER, ADD_POST, ADD_MESSAGE, ADD_REACTION, REMOVE_REACTION, PIN, UNPIN
+	}
+
+	public interface Apply {
+		void run(Operation operation, String[] fields);
+	}
+
+	private static final int FIELD_COUNT = 5;
+	private static final CSVFormat FORMAT = new CSVFormat(FIELD_COUNT + 2);
+	private static final String END_MARKER = ".";
+
+	// Shared by every DataManager writing to the same files
+	private static final Object LOCK = new Object();
+
+	private final IOFactory ioFactory;
+	private final String filename;
+	private int damaged = 0;
+
+	public MutationLog(IOFactory ioFactory, String filename) {
+		this.ioFactory = ioFactory;
+		this.filename = filename;
+	}
+
+	/**
+	 * Appends a single entry to the end of the log
+	 * @param operation the mutation
+	 * @param fields at most five fields describing it
+	 */
+	public void append(Operation operation, String... fields) {
+		write(Collections.singletonList(entry(operation, fields)), true);
+	}
+
+	/**
+	 * Appends several entries at once, in order
+	 * @param entries each entry's operation followed by its fields, as made by {@link #entry}
+	 */
+	public void appendAll(List<String[]> entries) {
+		write(entries, true);
+	}
+
+	/**
+	 * Replaces the log with the given entries, or empties it if there are none.
+	 * Used once the snapshot files hold everything else.
+	 * @param entries each entry's operation followed by its fields, as made by {@link #entry}
+	 */
+	public void reset(List<String[]> entries) {
+		write(entries, false);
+	}
+
+	/**
+	 * Builds an entry for {@link #reset}
+	 */
+	public static String[] entry(Operation operation, String... fields) {
+		if (fields.length > FIELD_COUNT) throw new PersistentDataException("Too many fields for a log entry");
+		String[] row = new String[FIELD_COUNT + 2];
+		Arrays.fill(row, "");
+		row[0] = operation.name();
+		System.arraycopy(fields, 0, row, 1, fields.length);
+		row[FIELD_COUNT + 1] = END_MARKER;
+		return row;
+	}
+
+	/**
+	 * Applies every complete entry in order. Damaged entries are skipped and counted in {@link #damaged()}.
+	 * @param apply called with each entry's operation and fields
+	 * @return the number of entries read, including damaged ones
+	 */
+	public int replay(Apply apply) {
+		synchronized (LOCK) {
+			damaged = 0;
+			InputStream stream = ioFactory.inputStream(filename);
+			if (stream == null) return 0;
+			int entries = 0;
+			try (stream) {
+				FormattedReader<String[]> reader = new CSVFormattedFactory(FORMAT).reader(stream);
+				while (reader.hasNext()) {
+					entries++;
+					try {
+						String[] row = reader.getNext();
+						if (!END_MARKER.equals(row[FIELD_COUNT + 1])) throw new PersistentDataException("Incomplete log entry");
+						apply.run(Operation.valueOf(row[0]), Arrays.copyOfRange(row, 1, FIELD_COUNT + 1));
+					} catch (RuntimeException e) {
+						// The reader stops at the end of the bad line, so later entries are still read
+						damaged++;
+					}
+				}
+			} catch (IOException e) {
+				throw new PersistentDataException(e.getMessage());
+			}
+			return entries;
+		}
+	}
+
+	/**
+	 * @return the number of entries the last replay had to skip
+	 */
+	public int damaged() {
+		return damaged;
+	}
+
+	/**
+	 * Logs are equal when they are the same file, so that entries for either can be appended together
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof MutationLog log && ioFactory.equals(log.ioFactory) && filename.equals(log.filename);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(ioFactory, filename);
+	}
+
+	private void write(List<String[]> entries, boolean append) {
+		synchronized (LOCK) {
+			// A reset replaces the whole log, so it is swapped in atomically like the snapshot files
+			OutputStream stream = append ? ioFactory.appendStream(filename) : ioFactory.atomicOutputStream(filename);
+			if (stream == null) throw new PersistentDataException("Could not open " + filename);
+			try (stream; Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+				for (String[] entry : entries) {
+					// A fresh CSVWriter per entry, so that every entry, including the last, ends its own line
+					new CSVWriter(FORMAT, writer).putNext(entry);
+					writer.append(FORMAT.LINE_SEPARATOR);
+				}
+				writer.flush();
+				if (stream instanceof AtomicOutputStream atomic) atomic.commit();
+			} catch (IOException e) {
+				throw new PersistentDataException(e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package  com.example.hackathon.persistentdata;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Performs every write to the saved files on a single background thread, behind the caller's back.
+ * Log entries recorded in quick succession are held until things go quiet for a moment, then
+ * appended together, so a burst of mutations costs one append rather than one each. A requested
+ * writeAll runs on the same thread after the entries queued before it, and repeated requests
+ * collapse into one. {@link #flush()} writes everything out immediately, for when the app stops.
+ * A write that fails is put back and tried again a moment later.
+ */
+public class PersistenceScheduler {
+	private static final String TAG = "PersistenceScheduler";
+
+	// How long to wait for further mutations before appending, and the longest an entry may wait
+	private static final long DEBOUNCE_MILLIS = 200;
+	private static final long MAX_DELAY_MILLIS = 1000;
+
+	private static PersistenceScheduler instance;
+
+	private record Entry(MutationLog log, String[] fields) {}
+
+	private final ScheduledExecutorService executor;
+	private volatile Thread thread;
+
+	// Guarded by this
+	private List<Entry> pending = new ArrayList<>();
+	private DataManager snapshot;
+	private long firstPendingNanos;
+	private ScheduledFuture<?> scheduled;
+
+	private PersistenceScheduler() {
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "persistence");
+			// Anything still pending when the process exits would be lost anyway; flush() first if it matters
+			thread.setDaemon(true);
+			this.thread = thread;
+			return thread;
+		});
+	}
+
+	public static synchronized PersistenceScheduler getInstance() {
+		if (instance == null) instance = new PersistenceScheduler();
+		return instance;
+	}
+
+	/**
+	 * Queues an entry to be appended to a log once mutations have paused
+	 * @param log the log to append to
+	 * @param entry the entry, as made by {@link MutationLog#entry}
+	 */
+	public synchronized void append(MutationLog log, String[] entry) {
+		long now = System.nanoTime();
+		if (pending.isEmpty()) firstPendingNanos = now;
+		pending.add(new Entry(log, entry));
+
+		// Wait for a quiet moment, but never hold the first entry back for longer than the maximum
+		long waited = TimeUnit.NANOSECONDS.toMillis(now - firstPendingNanos);
+		long delay = Math.max(0, Math.min(DEBOUNCE_MILLIS, MAX_DELAY_MILLIS - waited));
+		if (scheduled != null) scheduled.cancel(false);
+		scheduled = executor.schedule(this::drainInBackground, delay, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Marks the snapshot files as needing a rewrite, which happens on the background thread after
+	 * any entries already queued. Requests made before it starts are carried out once.
+	 * @param manager the DataManager whose writeAll to run
+	 */
+	public synchronized void requestWriteAll(DataManager manager) {
+		boolean alreadyRequested = snapshot != null;
+		snapshot = manager;
+		if (!alreadyRequested) executor.execute(this::drainInBackground);
+	}
+
+	/**
+	 * Writes every queued entry and any requested writeAll without waiting for the debounce window
+	 * @return a future that completes once they are on disk
+	 */
+	public CompletableFuture<Void> flush() {
+		if (Thread.currentThread() == thread) {
+			drain();
+			return CompletableFuture.completedFuture(null);
+		}
+		return CompletableFuture.runAsync(this::drain, executor);
+	}
+
+	/**
+	 * Runs a task on the background thread, after everything queued before it, and waits for it
+	 */
+	void runAndWait(Runnable task) {
+		if (Thread.currentThread() == thread) {
+			task.run();
+			return;
+		}
+		try {
+			CompletableFuture.runAsync(() -> {
+				drain();
+				task.run();
+			}, executor).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) throw cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Runs a task on the background thread once every queued entry is appended, and waits for it.
+	 * A requested writeAll is held back until after the task, so it writes whatever the task leaves.
+	 */
+	void runBeforeWriteAll(Runnable task) {
+		if (Thread.currentThread() == thread) {
+			appendPending();
+			task.run();
+			return;
+		}
+		try {
+			runBeforeWriteAllAsync(task).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) throw cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * Like {@link #runBeforeWriteAll}, but returns straight away
+	 * @return a future that completes once the task has run
+	 */
+	CompletableFuture<Void> runBeforeWriteAllAsync(Runnable task) {
+		return CompletableFuture.runAsync(() -> {
+			appendPending();
+			task.run();
+		}, executor);
+	}
+
+	/**
+	 * Drains for a timer or a writeAll request, where no caller is waiting to see a failure. What
+	 * was not written has already been put back and the timer armed again, so it is only logged.
+	 */
+	private void drainInBackground() {
+		try {
+			drain();
+		} catch (RuntimeException e) {
+			Log.e(TAG, "Failed to save changes, retrying", e);
+		}
+	}
+
+	private void drain() {
+		DataManager manager;
+		synchronized (this) {
+			manager = snapshot;
+			snapshot = null;
+		}
+		try {
+			appendPending();
+			if (manager != null) manager.writeAllNow();
+		} catch (RuntimeException e) {
+			// The writeAll is still owed, whether it failed or never got to run
+			synchronized (this) {
+				if (snapshot == null) snapshot = manager;
+			}
+			retryLater();
+			throw e;
+		}
+	}
+
+	private void appendPending() {
+		List<Entry> entries;
+		synchronized (this) {
+			entries = pending;
+			pending = new ArrayList<>();
+			if (scheduled != null) scheduled.cancel(false);
+			scheduled = null;
+		}
+
+		// Consecutive entries for the same log go out in one append, keeping their order
+		int start = 0;
+		try {
+			while (start < entries.size()) {
+				MutationLog log = entries.get(start).log();
+				int end = start;
+				List<String[]> run = new ArrayList<>();
+				while (end < entries.size() && entries.get(end).log().equals(log)) run.add(entries.get(end++).fields());
+				log.appendAll(run);
+				start = end;
+			}
+		} catch (RuntimeException e) {
+			// Put back what was not written, in front of any newer entries, so the next flush retries it in order
+			synchronized (this) {
+				List<Entry> unwritten = new ArrayList<>(entries.subList(start, entries.size()));
+				unwritten.addAll(pending);
+				pending = unwritten;
+			}
+			retryLater();
+			throw e;
+		}
+	}
+
+	/**
+	 * Arms the timer again after a failed write, so that what was put back is retried without
+	 * waiting for the next mutation. It waits the longest delay, so a failing disk is not hammered.
+	 */
+	private synchronized void retryLater() {
+		if (scheduled == null) scheduled = executor.schedule(this::drainInBackground, MAX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+	}
+}
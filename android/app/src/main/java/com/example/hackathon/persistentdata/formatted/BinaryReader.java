@@ -0,0 +1,104 @@
+package  com.example.hackathon.persistentdata.formatted;
+
+import  com.example.hackathon.persistentdata.PersistentDataException;
+import  com.example.hackathon.persistentdata.serialization.UUIDCodec;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public class BinaryReader implements FormattedReader<String[]> {
+	private final BinaryFormat format;
+	private final DataInputStream input;
+	private final long[] previous;
+
+	public BinaryReader(BinaryFormat format, DataInputStream input) {
+		this.format = format;
+		this.input = input;
+		this.previous = new long[format.COLUMNS.length];
+	}
+
+	private static final String BAD_MAGIC_MESSAGE = "Not a binary document";
+	private static final String BAD_VERSION_MESSAGE = "Unsupported binary document version %s";
+	private static final String BAD_COLUMNS_MESSAGE = "Document columns do not match the expected format";
+	private static final String TRUNCATED_MESSAGE = "Document ended without a footer";
+	private static final String BAD_MARKER_MESSAGE = "Unexpected row marker %s";
+	private static final String REACHED_EOF_MESSAGE = "Already reached end of file while reading";
+
+	private boolean headerRead = false;
+	private boolean rowPending = false;
+	private boolean eof = false;
+
+	@Override
+	public boolean hasNext() {
+		if (rowPending) return true;
+		if (eof) return false;
+		try {
+			if (!headerRead) readHeader();
+			byte marker = input.readByte();
+			if (marker == BinaryFormat.END_MARKER) {
+				eof = true;
+				return false;
+			}
+			if (marker != BinaryFormat.ROW_MARKER) throw new PersistentDataException(BAD_MARKER_MESSAGE.formatted(marker));
+			rowPending = true;
+			return true;
+		} catch (EOFException e) {
+			throw new PersistentDataException(TRUNCATED_MESSAGE);
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		}
+	}
+
+	@Override
+	public String[] getNext() {
+		if (!hasNext()) throw new PersistentDataException(REACHED_EOF_MESSAGE);
+		rowPending = false;
+		String[] fields = new String[format.COLUMNS.length];
+		try {
+			for (int i = 0; i < fields.length; i++) {
+				fields[i] = switch (format.COLUMNS[i]) {
+					case UUID -> UUIDCodec.encode(new UUID(input.readLong(), input.readLong()));
+					case DELTA_LONG -> {
+						long zigzag = readVarint();
+						previous[i] += (zigzag >>> 1) ^ -(zigzag & 1);
+						yield String.valueOf(previous[i]);
+					}
+					case STRING -> {
+						byte[] bytes = new byte[(int) readVarint()];
+						input.readFully(bytes);
+						yield new String(bytes, StandardCharsets.UTF_8);
+					}
+				};
+			}
+		} catch (EOFException e) {
+			throw new PersistentDataException(TRUNCATED_MESSAGE);
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		}
+		return fields;
+	}
+
+	private void readHeader() throws IOException {
+		headerRead = true;
+		if (input.readInt() != BinaryFormat.MAGIC) throw new PersistentDataException(BAD_MAGIC_MESSAGE);
+		byte version = input.readByte();
+		if (version != BinaryFormat.VERSION) throw new PersistentDataException(BAD_VERSION_MESSAGE.formatted(version));
+		if (readVarint() != format.COLUMNS.length) throw new PersistentDataException(BAD_COLUMNS_MESSAGE);
+		for (BinaryFormat.ColumnType column : format.COLUMNS) {
+			if (input.readByte() != column.ordinal()) throw new PersistentDataException(BAD_COLUMNS_MESSAGE);
+		}
+	}
+
+	private long readVarint() throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = input.readByte();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new PersistentDataException("Malformed varint");
+	}
+}
@@ -14,10 +14,19 @@ public class CSVReader implements FormattedReader<String[]> {
 		this.reader = reader;
 	}
 
+	private static final int BUFFER_SIZE = 1 << 16;
+	private final char[] buffer = new char[BUFFER_SIZE];
+	private int position = 0;
+	private int limit = 0;
 	private boolean eof = false;
 
+	// Holds fields that span a buffer refill or need unescaping; reused between fields
+	private final StringBuilder scratch = new StringBuilder();
+	// The separator that ended the last field read; EOF counts as a line separator
+	private char terminator;
+
 	public boolean hasNext() {
-		return !eof;
+		return position < limit || fill();
 	}
 
 	// These format strings are provided to give you some ideas about what error cases might be encountered,
@@ -33,66 +42,123 @@ public class CSVReader implements FormattedReader<String[]> {
 			throw new CSVIOException(LINE_TOO_LONG_MESSAGE.formatted(0));
 		}
 
-		if (eof) {
+		if (!hasNext()) {
 			throw new CSVIOException(REACHED_EOF_MESSAGE);
 		}
 
-		StringBuilder result = new StringBuilder();
-		boolean inSpecialField = false;
-		boolean lastWasEscape = false;
 		String[] fields = new String[format.COLUMN_COUNT];
 		int fieldIndex = 0;
+		while (true) {
+			fields[fieldIndex] = readField();
+			fieldIndex++;
+			if (terminator == format.FIELD_SEPARATOR) {
+				if (fieldIndex >= format.COLUMN_COUNT) {
+					throw new CSVIOException(LINE_TOO_LONG_MESSAGE.formatted(format.COLUMN_COUNT));
+				}
+			} else {
+				if (fieldIndex < format.COLUMN_COUNT) {
+					throw new CSVIOException(LINE_TOO_SHORT_MESSAGE.formatted(format.COLUMN_COUNT, fieldIndex));
+				}
+				break;
+			}
+		}
+		return fields;
+	}
+
+	/**
+	 * Scans the buffer for the end of the field. Plain fields become a single String
+	 * over the buffer; only fields containing the escape marker take the slow path.
+	 */
+	private String readField() {
+		int start = position;
+		scratch.setLength(0);
+		while (true) {
+			if (position == limit) {
+				scratch.append(buffer, start, position - start);
+				if (!fill()) {
+					terminator = format.LINE_SEPARATOR;
+					return scratch.toString();
+				}
+				start = position;
+			}
+			char c = buffer[position];
+			if (c == format.FIELD_SEPARATOR || c == format.LINE_SEPARATOR) {
+				String field = scratch.isEmpty()
+						? new String(buffer, start, position - start)
+						: scratch.append(buffer, start, position - start).toString();
+				position++;
+				terminator = c;
+				return field;
+			}
+			if (c == format.ESCAPE_MARKER) {
+				scratch.append(buffer, start, position - start);
+				return readEscapedField();
+			}
+			position++;
+		}
+	}
+
+	/**
+	 * Reads the rest of a field one character at a time, handling escape markers.
+	 * Anything already read for this field is in scratch.
+	 */
+	private String readEscapedField() {
+		boolean inSpecialField = false;
+		boolean lastWasEscape = false;
 		boolean ignoredFirstQuote = false;
 		while (true) {
-			char c = format.LINE_SEPARATOR;
-			try {
-				int i = reader.read();
-				if (i == -1) {
-					if (inSpecialField) {
-						throw new CSVIOException(IMPROPER_ESCAPE_MESSAGE);
-					}
-					eof = true;
-					reader.close();
-				} else {
-					c = (char) i;
+			if (position == limit && !fill()) {
+				if (inSpecialField) {
+					throw new CSVIOException(IMPROPER_ESCAPE_MESSAGE);
 				}
-			} catch (IOException e) {
-				throw new CSVIOException(e.getMessage());
+				terminator = format.LINE_SEPARATOR;
+				return scratch.toString();
 			}
+			char c = buffer[position++];
 
 			if (c == format.ESCAPE_MARKER) {
 				inSpecialField = !inSpecialField;
-				if (result.isEmpty() && !ignoredFirstQuote) {
+				if (scratch.isEmpty() && !ignoredFirstQuote) {
 					ignoredFirstQuote = true;
 				} else if (lastWasEscape) {
-					result.append(c);
+					scratch.append(c);
 					lastWasEscape = false;
 				} else {
 					lastWasEscape = true;
 				}
 			} else {
 				lastWasEscape = false;
-				if (c == format.FIELD_SEPARATOR && !inSpecialField) {
-					fields[fieldIndex] = result.toString();
-					fieldIndex++;
-					if (fieldIndex >= format.COLUMN_COUNT) {
-						throw new CSVIOException(LINE_TOO_LONG_MESSAGE.formatted(format.COLUMN_COUNT));
-					}
-					ignoredFirstQuote = false;
-					result = new StringBuilder();
-				} else if (c == format.LINE_SEPARATOR && !inSpecialField) {
-					fields[fieldIndex] = result.toString();
-					fieldIndex++;
-					if (fieldIndex < format.COLUMN_COUNT) {
-						throw new CSVIOException(LINE_TOO_SHORT_MESSAGE.formatted(format.COLUMN_COUNT, fieldIndex));
-					}
-					break;
-				} else {
-					result.append(c);
+				if ((c == format.FIELD_SEPARATOR || c == format.LINE_SEPARATOR) && !inSpecialField) {
+					terminator = c;
+					return scratch.toString();
 				}
+				scratch.append(c);
 			}
 		}
-		return fields;
+	}
+
+	/**
+	 * Refills the buffer from the reader, closing it once the end is reached
+	 * @return true if more characters are available
+	 */
+	private boolean fill() {
+		if (eof) return false;
+		try {
+			int read;
+			do {
+				read = reader.read(buffer, 0, buffer.length);
+			} while (read == 0);
+			if (read == -1) {
+				eof = true;
+				reader.close();
+				return false;
+			}
+			position = 0;
+			limit = read;
+			return true;
+		} catch (IOException e) {
+			throw new CSVIOException(e.getMessage());
+		}
 	}
 
 	public static class CSVIOException extends PersistentDataException {
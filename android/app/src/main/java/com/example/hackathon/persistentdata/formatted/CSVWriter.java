@@ -44,6 +44,11 @@ public class CSVWriter implements FormattedWriter<String[]> {
 
 	@Override
 	public void putFooter() {
+		try {
+			writer.flush();
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		}
 	}
 
 	private void writeEntry(String entry) throws IOException {
@@ -27,6 +27,39 @@ public class AndroidIOFactory implements IOFactory {
         } catch (Exception e) { return null; }
     }
 
+    @Override public InputStream inputStream(String logicalName) {
+        try {
+            File f = resolve(logicalName);
+            if (!f.exists()) return null;
+            return new FileInputStream(f);
+        } catch (Exception e) { return null; }
+    }
+
+    @Override public OutputStream outputStream(String logicalName) {
+        try {
+            return new FileOutputStream(resolve(logicalName), false);
+        } catch (Exception e) { return null; }
+    }
+
+    @Override public OutputStream appendStream(String logicalName) {
+        try {
+            return new FileOutputStream(resolve(logicalName), true);
+        } catch (Exception e) { return null; }
+    }
+
+    @Override public AtomicOutputStream atomicOutputStream(String logicalName) {
+        try {
+            return new AtomicFileOutputStream(resolve(logicalName));
+        } catch (Exception e) { return null; }
+    }
+
+    // Factories for the same app open the same files, so their mutation logs can be appended together
+    @Override public boolean equals(Object other) {
+        return other instanceof AndroidIOFactory factory && app.getFilesDir().equals(factory.app.getFilesDir());
+    }
+
+    @Override public int hashCode() { return app.getFilesDir().hashCode(); }
+
     // Optional helper for bootstrap
     public OutputStream rawOutput(String logicalName, boolean append) throws IOException {
         return new FileOutputStream(resolve(logicalName), append);
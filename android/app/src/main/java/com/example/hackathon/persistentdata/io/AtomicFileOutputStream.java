@@ -0,0 +1,76 @@
+package  com.example.hackathon.persistentdata.io;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes to a temporary file beside the target, and on {@link #commit()} syncs it to disk and
+ * renames it over the target. A crash at any point leaves either the old file or the complete
+ * new one, never a half-written file. Closing without committing discards the temporary file.
+ */
+public class AtomicFileOutputStream extends AtomicOutputStream {
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final Path target;
+	private final Path temporary;
+	private final FileOutputStream file;
+	private boolean closed = false;
+
+	public AtomicFileOutputStream(File target) throws IOException {
+		this(target, new FileOutputStream(target.getPath() + TEMPORARY_SUFFIX));
+	}
+
+	private AtomicFileOutputStream(File target, FileOutputStream file) {
+		super(file);
+		this.target = target.toPath();
+		this.temporary = Path.of(target.getPath() + TEMPORARY_SUFFIX);
+		this.file = file;
+	}
+
+	@Override
+	public void commit() throws IOException {
+		if (closed) throw new IOException("Stream already closed");
+		closed = true;
+		try {
+			file.flush();
+			file.getFD().sync();
+			file.close();
+			try {
+				Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temporary);
+			throw e;
+		}
+		syncDirectory();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) return;
+		closed = true;
+		file.close();
+		Files.deleteIfExists(temporary);
+	}
+
+	/**
+	 * Makes the rename itself durable. Not every platform can open a directory, so this is best effort.
+	 */
+	private void syncDirectory() {
+		Path directory = target.toAbsolutePath().getParent();
+		if (directory == null) return;
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException ignored) {
+		}
+	}
+}
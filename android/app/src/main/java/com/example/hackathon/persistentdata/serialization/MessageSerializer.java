@@ -13,11 +13,11 @@ public class MessageSerializer implements Serializer<Message, String[]> {
 
 	@Override
 	public String[] serialize(Message object) {
-		return new String[] {object.id().toString(), object.poster().toString(), object.thread().toString(), String.valueOf(object.timestamp()), object.message()};
+		return new String[] {UUIDCodec.encode(object.id()), UUIDCodec.encode(object.poster()), UUIDCodec.encode(object.thread()), String.valueOf(object.timestamp()), object.message()};
 	}
 
 	@Override
 	public Message deserialize(String[] data) {
-		return new Message(UUID.fromString(data[0]), UUID.fromString(data[1]), UUID.fromString(data[2]), Long.valueOf(data[3]), data[4]);
+		return new Message(UUIDCodec.decode(data[0]), UUIDCodec.decode(data[1]), UUIDCodec.decode(data[2]), Long.valueOf(data[3]), data[4]);
 	}
 }
@@ -12,8 +12,8 @@ public class PinnedPostSerializer implements Serializer<PinnedPost, String[]> {
     @Override
     public PinnedPost deserialize(String[] parts) {
         if (parts.length >= 2) {
-            UUID userId = UUID.fromString(parts[0]);
-            UUID postId = UUID.fromString(parts[1]);
+            UUID userId = UUIDCodec.decode(parts[0]);
+            UUID postId = UUIDCodec.decode(parts[1]);
             return new PinnedPost(userId, postId);
         }
         return null;
@@ -22,8 +22,8 @@ public class PinnedPostSerializer implements Serializer<PinnedPost, String[]> {
     @Override
     public String[] serialize(PinnedPost pinnedPost) {
         return new String[]{
-                pinnedPost.getUserId().toString(),
-                pinnedPost.getPostId().toString()
+                UUIDCodec.encode(pinnedPost.getUserId()),
+                UUIDCodec.encode(pinnedPost.getPostId())
         };
     }
 }
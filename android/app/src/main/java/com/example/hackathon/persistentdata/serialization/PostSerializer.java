@@ -12,11 +12,11 @@ public class PostSerializer implements Serializer<Post, String[]> {
 
 	@Override
 	public String[] serialize(Post object) {
-		return new String[] {object.id.toString(), object.poster.toString(), object.topic};
+		return new String[] {UUIDCodec.encode(object.id), UUIDCodec.encode(object.poster), object.topic};
 	}
 
 	@Override
 	public Post deserialize(String[] data) {
-		return new Post(UUID.fromString(data[0]), UUID.fromString(data[1]), data[2]);
+		return new Post(UUIDCodec.decode(data[0]), UUIDCodec.decode(data[1]), data[2]);
 	}
 }
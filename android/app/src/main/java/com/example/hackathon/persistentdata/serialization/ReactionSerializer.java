@@ -0,0 +1,27 @@
+package  com.example.hackathon.persistentdata.serialization;
+
+import  com.example.hackathon.dao.model.Reaction;
+import  com.example.hackathon.reactions.ReactionType;
+
+import java.util.UUID;
+
+/**
+ * Converts between Reactions and String[] as the message UUID, user UUID, the ordinal
+ * of the reaction type and the timestamp. Type names are also accepted when reading,
+ * as older reactions files were written by hand.
+ */
+public class ReactionSerializer implements Serializer<Reaction, String[]> {
+
+	@Override
+	public String[] serialize(Reaction object) {
+		return new String[] {UUIDCodec.encode(object.message()), UUIDCodec.encode(object.user()), String.valueOf(object.type().ordinal()), String.valueOf(object.timestamp())};
+	}
+
+	@Override
+	public Reaction deserialize(String[] data) {
+		ReactionType type = Character.isDigit(data[2].charAt(0))
+				? ReactionType.values()[Integer.parseInt(data[2])]
+				: ReactionType.valueOf(data[2]);
+		return new Reaction(UUIDCodec.decode(data[0]), UUIDCodec.decode(data[1]), type, Long.parseLong(data[3]));
+	}
+}
@@ -2,9 +2,6 @@ package  com.example.hackathon.persistentdata.serialization;
 
 import  com.example.hackathon.dao.model.User;
 
-import java.util.UUID;
-
-
 /**
  * TODO: Document your schema here
  * UserSerializer
@@ -12,7 +9,7 @@ import java.util.UUID;
 public class UserSerializer implements Serializer<User, String[]> {
 	@Override
 	public String[] serialize(User object) {
-		return new String[] {object.id().toString(), serialize(object.role()), object.username(), object.password()};
+		return new String[] {UUIDCodec.encode(object.id()), serialize(object.role()), object.username(), object.password()};
 	}
 	@Override
 	public User deserialize(String[] data) {
@@ -20,7 +17,7 @@ public class UserSerializer implements Serializer<User, String[]> {
 		String roleStr = data[1].trim();
 		String uname   = data[2].trim();
 		String pwd     = data[3].trim();  // <- IMPORTANT: strip \r / spaces
-		return new User(UUID.fromString(idStr), deserialize(roleStr), uname, pwd, null);
+		return new User(UUIDCodec.decode(idStr), deserialize(roleStr), uname, pwd, null);
 	}
 
 
@@ -2,6 +2,8 @@ package  com.example.hackathon.reactions;
 
 import  com.example.hackathon.reactions.reports.OldestReport;
 import  com.example.hackathon.reactions.reports.OverviewReport;
+import  com.example.hackathon.reactions.reports.StreamingOldestReport;
+import  com.example.hackathon.reactions.reports.StreamingOverviewReport;
 
 public class ReactionReportFactory {
     public static IReactionReporter buildReporter(String type) {
@@ -12,6 +14,8 @@ public class ReactionReportFactory {
         return switch (normalized) {
             case "overview" -> new OverviewReport();
             case "oldest" -> new OldestReport();
+            case "overview-streaming" -> new StreamingOverviewReport();
+            case "oldest-streaming" -> new StreamingOldestReport();
             default -> throw new IllegalArgumentException("Unknown reporter type: " + type);
         };
     }
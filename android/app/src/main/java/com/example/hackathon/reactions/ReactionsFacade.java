@@ -1,18 +1,13 @@
 package  com.example.hackathon.reactions;
 
-import  com.example.hackathon.dao.PostDAO;
 import com.example.hackathon.dao.ReactionDAO;
 import  com.example.hackathon.dao.UserDAO;
-import  com.example.hackathon.dao.model.Message;
 import  com.example.hackathon.dao.model.User;
 import  com.example.hackathon.dao.model.UserReactions;
 import  com.example.hackathon.persistentdata.DataManager;
 import  com.example.hackathon.persistentdata.PersistentDataException;
 import  com.example.hackathon.persistentdata.io.ComputerIOFactory;
-import  com.example.hackathon.persistentdata.io.IOFactory;
 
-import java.io.BufferedReader;
-import java.io.Reader;
 import java.util.*;
 
 public class ReactionsFacade {
@@ -38,10 +33,15 @@ public class ReactionsFacade {
 	 * Returns true if the reaction was successfully removed, and false otherwise.
 	 */
 	public static boolean removeReaction(UUID userUUID, UUID messageUUID, ReactionType type) {
-		UserReactions ur = ReactionDAO.getInstance().findUser(userUUID);
-		if (ur == null) return false;
+		return ReactionDAO.getInstance().removeReaction(userUUID, messageUUID, type);
+	}
 
-		return ur.removeReaction(messageUUID, type);
+	/**
+	 * Fetches every reaction made on a particular message, keyed by the UUID of the user who made it.
+	 * Only the users who have reacted to the message are included.
+	 */
+	public static Map<UUID, Map<ReactionType, Long>> getReactionsForMessage(UUID messageUUID) {
+		return ReactionDAO.getInstance().getReactionsForMessage(messageUUID);
 	}
 
 	/**
@@ -86,45 +86,7 @@ public class ReactionsFacade {
             DataManager manager = new DataManager(new ComputerIOFactory());
             manager.readAll();
         } catch (PersistentDataException e) {
-            System.err.println("Failed to load users/posts/messages: " + e.getMessage());
-        }
-        IOFactory io = new ComputerIOFactory();
-        try (Reader r = io.reader("reactions");
-             BufferedReader br = (r == null ? null : new BufferedReader(r))) {
-            if (br == null) return;
-            String line;
-
-            while ((line = br.readLine()) != null) {
-                if (line.isBlank()) continue;
-                String[] f = line.split(",", -1);
-                if (f.length < 4) continue;
-
-                try {
-                    UUID messageUUID = UUID.fromString(f[0]);
-                    UUID userUUID    = UUID.fromString(f[1]);
-                    ReactionType type;
-
-                    try { type = ReactionType.values()[Integer.parseInt(f[2])]; }
-                    catch (Exception ex) { type = ReactionType.valueOf(f[2]); }
-                    long timestamp    = Long.parseLong(f[3]);
-
-                    if (UserDAO.getInstance().getByUUID(userUUID) == null) continue;
-                    boolean messageExists = false;
-                    for (var it = PostDAO.getInstance().getAllMessages(); it.hasNext();) {
-                        Message m = it.next();
-                        if (m.id().equals(messageUUID)) { messageExists = true; break; }
-                    }
-
-                    if (!messageExists) continue;
-
-                    ReactionDAO.getInstance().addReaction(userUUID, messageUUID, type, timestamp);
-
-                } catch (Exception ex) {
-                    System.err.println("Error loading reaction: " + ex.getMessage());
-                }
-            }
-        } catch (Exception ex) {
-            System.err.println("Error reading reactions: " + ex.getMessage());
+            System.err.println("Failed to load users/posts/messages/reactions: " + e.getMessage());
         }
     }
 }
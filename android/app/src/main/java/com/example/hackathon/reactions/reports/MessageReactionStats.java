@@ -0,0 +1,116 @@
+package  com.example.hackathon.reactions.reports;
+
+import  com.example.hackathon.dao.UserDAO;
+import  com.example.hackathon.dao.model.User;
+import  com.example.hackathon.reactions.ReactionDisplayTag;
+import  com.example.hackathon.reactions.ReactionType;
+
+import java.util.*;
+
+/**
+ * Running aggregate of the reactions on a single message, kept up to date by ReactionDAO
+ * as reactions are added and removed. Each update is O(log n) in the number of reactions
+ * on the message. The Overview report and the reactions behind the Oldest report are
+ * worked out at most once per change; each call hands out a fresh copy, and the Oldest
+ * report looks its usernames up as it is built, so users loaded later are named.
+ * All methods are synchronized, so reports can be built on any thread.
+ */
+public class MessageReactionStats {
+    static final ReactionDisplayTag[] NONE = new ReactionDisplayTag[0];
+    private static final int REPORT_SIZE = 5;
+
+    private record Entry(long timestamp, ReactionType type, UUID userId) {}
+
+    // Timestamp first; type and user only break ties so that distinct reactions never collide
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong(Entry::timestamp)
+            .thenComparing(Entry::type)
+            .thenComparing(Entry::userId);
+
+    private final int[] counts = new int[ReactionType.values().length];
+    private final Map<ReactionType, TreeSet<Entry>> byType = new EnumMap<>(ReactionType.class);
+    private final Map<UUID, TreeSet<Entry>> byUser = new HashMap<>();
+
+    // The oldest reaction of each user who has reacted, oldest first
+    private final TreeSet<Entry> oldestPerUser = new TreeSet<>(ORDER);
+
+    private ReactionDisplayTag[] overview;
+    private Entry[] oldest;
+
+    public synchronized void add(UUID userId, ReactionType type, long timestamp) {
+        Entry entry = new Entry(timestamp, type, userId);
+        TreeSet<Entry> mine = byUser.computeIfAbsent(userId, k -> new TreeSet<>(ORDER));
+        Entry previousOldest = mine.isEmpty() ? null : mine.first();
+        if (!mine.add(entry)) return;
+
+        byType.computeIfAbsent(type, k -> new TreeSet<>(ORDER)).add(entry);
+        counts[type.ordinal()]++;
+        overview = null;
+
+        if (previousOldest == null || ORDER.compare(entry, previousOldest) < 0) {
+            if (previousOldest != null) oldestPerUser.remove(previousOldest);
+            oldestPerUser.add(entry);
+            oldest = null;
+        }
+    }
+
+    public synchronized void remove(UUID userId, ReactionType type, long timestamp) {
+        Entry entry = new Entry(timestamp, type, userId);
+        TreeSet<Entry> mine = byUser.get(userId);
+        if (mine == null || !mine.remove(entry)) return;
+
+        byType.get(type).remove(entry);
+        counts[type.ordinal()]--;
+        overview = null;
+
+        if (oldestPerUser.remove(entry)) {
+            if (!mine.isEmpty()) oldestPerUser.add(mine.first());
+            oldest = null;
+        }
+        if (mine.isEmpty()) byUser.remove(userId);
+    }
+
+    public synchronized boolean isEmpty() {
+        return byUser.isEmpty();
+    }
+
+    /**
+     * Up to five reaction types, most used first, ties going to the type whose oldest
+     * remaining reaction came first. Labels are the counts.
+     */
+    public synchronized ReactionDisplayTag[] overview() {
+        if (overview == null) {
+            ReactionType[] used = Arrays.stream(ReactionType.values())
+                    .filter(t -> counts[t.ordinal()] > 0)
+                    .sorted(Comparator.comparingInt((ReactionType t) -> -counts[t.ordinal()])
+                            .thenComparingLong(t -> byType.get(t).first().timestamp()))
+                    .limit(REPORT_SIZE)
+                    .toArray(ReactionType[]::new);
+
+            overview = new ReactionDisplayTag[used.length];
+            for (int i = 0; i < used.length; i++) {
+                overview[i] = new ReactionDisplayTag(used[i], String.valueOf(counts[used[i].ordinal()]));
+            }
+        }
+        return overview.clone();
+    }
+
+    /**
+     * Up to five users' oldest reactions, oldest first. Labels are the usernames.
+     */
+    public synchronized ReactionDisplayTag[] oldest() {
+        if (oldest == null) {
+            oldest = new Entry[Math.min(REPORT_SIZE, oldestPerUser.size())];
+            Iterator<Entry> it = oldestPerUser.iterator();
+            for (int i = 0; i < oldest.length; i++) oldest[i] = it.next();
+        }
+
+        ReactionDisplayTag[] report = new ReactionDisplayTag[oldest.length];
+        for (int i = 0; i < oldest.length; i++) {
+            Entry e = oldest[i];
+            User user = UserDAO.getInstance().getByUUID(e.userId());
+            String username = (user != null && user.username() != null) ? user.username() : "Unknown";
+            report[i] = new ReactionDisplayTag(e.type(), username);
+        }
+        return report;
+    }
+}
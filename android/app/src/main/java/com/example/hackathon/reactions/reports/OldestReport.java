@@ -4,7 +4,6 @@ import com.example.hackathon.dao.ReactionDAO;
 import  com.example.hackathon.dao.UserDAO;
 import  com.example.hackathon.dao.model.Message;
 import  com.example.hackathon.dao.model.User;
-import  com.example.hackathon.dao.model.UserReactions;
 import  com.example.hackathon.reactions.ReactionDisplayTag;
 import  com.example.hackathon.reactions.ReactionType;
 
@@ -19,23 +18,20 @@ public class OldestReport extends Report {
         // Map: userId -> (reactionType, timestamp)
         Map<UUID, ReactionEntry> oldestPerUser = new HashMap<>();
 
-        for (Iterator<UserReactions> it = ReactionDAO.getInstance().getAll(); it.hasNext(); ) {
-            UserReactions userReactions = it.next();
-            Map<ReactionType, Long> reactions = userReactions.getReactionsByMessage().get(message.id());
-            if (reactions != null) {
-                UUID userId = userReactions.getUserId();
-                ReactionType oldestType = null;
-                long oldestTime = Long.MAX_VALUE;
-                for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
-                    if (entry.getValue() < oldestTime) {
-                        oldestTime = entry.getValue();
-                        oldestType = entry.getKey();
-                    }
-                }
-                if (oldestType != null) {
-                    oldestPerUser.put(userId, new ReactionEntry(oldestType, oldestTime));
+        for (Map.Entry<UUID, Map<ReactionType, Long>> byUser : ReactionDAO.getInstance().getReactionsForMessage(message.id()).entrySet()) {
+            Map<ReactionType, Long> reactions = byUser.getValue();
+            UUID userId = byUser.getKey();
+            ReactionType oldestType = null;
+            long oldestTime = Long.MAX_VALUE;
+            for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
+                if (entry.getValue() < oldestTime) {
+                    oldestTime = entry.getValue();
+                    oldestType = entry.getKey();
                 }
             }
+            if (oldestType != null) {
+                oldestPerUser.put(userId, new ReactionEntry(oldestType, oldestTime));
+            }
         }
 
         // Sort by timestamp ascending
@@ -2,7 +2,6 @@ package  com.example.hackathon.reactions.reports;
 
 import com.example.hackathon.dao.ReactionDAO;
 import  com.example.hackathon.dao.model.Message;
-import  com.example.hackathon.dao.model.UserReactions;
 import  com.example.hackathon.reactions.ReactionDisplayTag;
 import  com.example.hackathon.reactions.ReactionType;
 
@@ -17,21 +16,17 @@ public class OverviewReport extends Report {
         // Map: ReactionType -> (count, oldestTimestamp)
         Map<ReactionType, ReactionStats> stats = new EnumMap<>(ReactionType.class);
 
-        for (Iterator<UserReactions> ur = ReactionDAO.getInstance().getAll(); ur.hasNext(); ) {
-            UserReactions userReactions = ur.next();
-            Map<ReactionType, Long> reactions = userReactions.getReactionsByMessage().get(message.id());
-            if (reactions != null) {
-                for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
-                    ReactionType type = entry.getKey();
-                    long timestamp = entry.getValue();
-                    stats.compute(type, (key, v) -> { // or any other valid name instead of 'key'
-                        if (v == null) return new ReactionStats(1, timestamp);
-                        v.count++;
-                        v.oldestTimestamp = Math.min(v.oldestTimestamp, timestamp);
-                        return v;
-                    });
+        for (Map<ReactionType, Long> reactions : ReactionDAO.getInstance().getReactionsForMessage(message.id()).values()) {
+            for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
+                ReactionType type = entry.getKey();
+                long timestamp = entry.getValue();
+                stats.compute(type, (key, v) -> { // or any other valid name instead of 'key'
+                    if (v == null) return new ReactionStats(1, timestamp);
+                    v.count++;
+                    v.oldestTimestamp = Math.min(v.oldestTimestamp, timestamp);
+                    return v;
+                });
 
-                }
             }
         }
 
@@ -0,0 +1,20 @@
+package  com.example.hackathon.reactions.reports;
+
+import  com.example.hackathon.dao.ReactionDAO;
+import  com.example.hackathon.dao.model.Message;
+import  com.example.hackathon.reactions.ReactionDisplayTag;
+
+/**
+ * Same output as OverviewReport, but read straight from the statistics ReactionDAO
+ * maintains for each message instead of being recomputed on every call.
+ */
+public class StreamingOverviewReport extends Report {
+
+    @Override
+    public ReactionDisplayTag[] generateHelper(Message message) {
+        if (message == null) return MessageReactionStats.NONE;
+
+        MessageReactionStats stats = ReactionDAO.getInstance().getReactionStats(message.id());
+        return stats == null ? MessageReactionStats.NONE : stats.overview();
+    }
+}
@@ -0,0 +1,94 @@
+package  com.example.hackathon.sorteddata;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Decorates another SortedData, telling any registered listeners about each value
+ * that is successfully inserted. Used so that indexes kept outside the structure
+ * (such as PostDAO's message index) stay up to date however the insert happens.
+ * It also counts inserts, so that a saved copy can tell whether it is out of date.
+ * @param <T> The type of data to be stored.
+ */
+public class ObservableSortedData<T> extends SortedData<T> {
+	private final SortedData<T> inner;
+	private final List<Consumer<T>> insertListeners = new CopyOnWriteArrayList<>();
+	private final AtomicLong version = new AtomicLong();
+
+	public ObservableSortedData(SortedData<T> inner) {
+		this.inner = inner;
+	}
+
+	/**
+	 * Registers a listener to be called with every value inserted from now on.
+	 * @param listener the listener
+	 */
+	public void addInsertListener(Consumer<T> listener) {
+		insertListeners.add(listener);
+	}
+
+	/**
+	 * @return a number that changes whenever a value is inserted
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	@Override
+	public boolean insert(T value) {
+		if (!inner.insert(value)) return false;
+		version.incrementAndGet();
+		for (Consumer<T> listener : insertListeners) listener.accept(value);
+		return true;
+	}
+
+	@Override
+	public int bulkLoad(Iterator<T> values) {
+		if (insertListeners.isEmpty()) {
+			int added = inner.bulkLoad(values);
+			if (added > 0) version.incrementAndGet();
+			return added;
+		}
+
+		List<T> incoming = new ArrayList<>();
+		values.forEachRemaining(incoming::add);
+		int added = inner.bulkLoad(incoming.iterator());
+		if (added > 0) version.incrementAndGet();
+		for (T value : incoming) {
+			// A skipped duplicate finds the element that was already stored, not itself
+			if (inner.get(value) == value) {
+				for (Consumer<T> listener : insertListeners) listener.accept(value);
+			}
+		}
+		return added;
+	}
+
+	@Override
+	public T get(T value) {
+		return inner.get(value);
+	}
+
+	@Override
+	public T getAtIndex(int i) {
+		return inner.getAtIndex(i);
+	}
+
+	@Override
+	public Iterator<T> getRange(T start, int count, boolean backwards) {
+		return inner.getRange(start, count, backwards);
+	}
+
+	@Override
+	public Iterator<T> getAll() {
+		return inner.getAll();
+	}
+
+	@Override
+	public T getRandom() {
+		return inner.getRandom();
+	}
+}
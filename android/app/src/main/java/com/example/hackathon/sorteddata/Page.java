@@ -0,0 +1,52 @@
+package  com.example.hackathon.sorteddata;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One window of elements read from a SortedData, together with a cursor from
+ * which the following window can be read.
+ * @param <T> The type of data stored.
+ */
+public final class Page<T> {
+	/**
+	 * Marks where a page ended. Callers hand it back to SortedData.getPage to carry
+	 * on from that point in the same direction, without needing to know what it holds.
+	 * @param <T> The type of data stored.
+	 */
+	public static final class Cursor<T> {
+		final T last;
+		final boolean backwards;
+
+		Cursor(T last, boolean backwards) {
+			this.last = last;
+			this.backwards = backwards;
+		}
+	}
+
+	private final List<T> items;
+	private final Cursor<T> next;
+
+	Page(List<T> items, Cursor<T> next) {
+		this.items = Collections.unmodifiableList(items);
+		this.next = next;
+	}
+
+	/**
+	 * @return the elements on this page, in iteration order
+	 */
+	public List<T> items() {
+		return items;
+	}
+
+	/**
+	 * @return the cursor for the following page, or null if this is the last page
+	 */
+	public Cursor<T> next() {
+		return next;
+	}
+
+	public boolean hasNext() {
+		return next != null;
+	}
+}
@@ -1,5 +1,7 @@
 package  com.example.hackathon.sorteddata;
 import com.example.hackathon.sorteddata.avltree.AVLTree;
+import com.example.hackathon.sorteddata.avltree.ConcurrentAVLTree;
+import com.example.hackathon.sorteddata.mutableavltree.MutableAVLTree;
 import com.example.hackathon.sorteddata.sortedarraylist.SortedArrayList;
 
 import java.util.Comparator;
@@ -25,11 +27,40 @@ import java.util.Comparator;
  */
 //#WEEK END
 public class SortedDataFactory {
-	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator) {
+	/**
+	 * The available implementations of SortedData
+	 */
+	public enum Implementation {
+		SORTED_ARRAY_LIST, AVL_TREE, MUTABLE_AVL_TREE, CONCURRENT_AVL_TREE
+	}
+
+	private static Implementation implementation =
 		//#WEEK 3 !
-//		return new SortedArrayList<>(comparator);
+//		Implementation.SORTED_ARRAY_LIST;
 		//#WEEK 4
-		return new AVLTree<>(comparator);
+		// The UI reads on the main thread while loading and saving run in the background
+		Implementation.CONCURRENT_AVL_TREE;
 		//#WEEK END
+
+	/**
+	 * Chooses the implementation built by makeSortedData(Comparator) from now on.
+	 * Structures that already exist keep whatever they were built with.
+	 * @param implementation the implementation to use
+	 */
+	public static void setImplementation(Implementation implementation) {
+		SortedDataFactory.implementation = implementation;
+	}
+
+	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator) {
+		return makeSortedData(comparator, implementation);
+	}
+
+	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator, Implementation implementation) {
+		return switch (implementation) {
+			case SORTED_ARRAY_LIST -> new SortedArrayList<>(comparator);
+			case AVL_TREE -> new AVLTree<>(comparator);
+			case MUTABLE_AVL_TREE -> new MutableAVLTree<>(comparator);
+			case CONCURRENT_AVL_TREE -> new ConcurrentAVLTree<>(comparator);
+		};
 	}
 }
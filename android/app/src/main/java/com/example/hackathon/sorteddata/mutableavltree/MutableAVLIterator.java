@@ -0,0 +1,29 @@
+package  com.example.hackathon.sorteddata.mutableavltree;
+
+import java.util.Iterator;
+
+public class MutableAVLIterator<T> implements Iterator<T> {
+	private MutableAVLNode<T> next;
+	private final boolean backwards;
+	private int count;
+
+	MutableAVLIterator(MutableAVLNode<T> first, int count, boolean backwards) {
+		this.next = first;
+		this.count = count;
+		this.backwards = backwards;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next != null && count != 0;
+	}
+
+	@Override
+	public T next() {
+		if (count > 0) count--;
+		MutableAVLNode<T> result = next;
+		// Stepping from the current node each time keeps this valid across inserts and rotations
+		next = backwards ? result.predecessor() : result.successor();
+		return result.value;
+	}
+}
@@ -0,0 +1,77 @@
+package  com.example.hackathon.sorteddata.mutableavltree;
+
+/**
+ * A node of a MutableAVLTree. Nodes are updated in place, know their parent so
+ * that rebalancing and iteration need no stack, and share the tree's comparator
+ * rather than each holding a reference to it.
+ * @param <T>
+ */
+class MutableAVLNode<T> {
+	final T value;
+	MutableAVLNode<T> left, right, parent;
+	int height = 1, size = 1;
+
+	MutableAVLNode(T value, MutableAVLNode<T> parent) {
+		this.value = value;
+		this.parent = parent;
+	}
+
+	static int height(MutableAVLNode<?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	static int size(MutableAVLNode<?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	/**
+	 * Recomputes this node's height and size from its children
+	 */
+	void update() {
+		height = Math.max(height(left), height(right)) + 1;
+		size = size(left) + size(right) + 1;
+	}
+
+	int balanceFactor() {
+		return height(left) - height(right);
+	}
+
+	MutableAVLNode<T> leftmost() {
+		MutableAVLNode<T> node = this;
+		while (node.left != null) node = node.left;
+		return node;
+	}
+
+	MutableAVLNode<T> rightmost() {
+		MutableAVLNode<T> node = this;
+		while (node.right != null) node = node.right;
+		return node;
+	}
+
+	/**
+	 * @return the next node in sorted order, or null if this is the last
+	 */
+	MutableAVLNode<T> successor() {
+		if (right != null) return right.leftmost();
+		MutableAVLNode<T> node = this;
+		while (node.parent != null && node == node.parent.right) node = node.parent;
+		return node.parent;
+	}
+
+	/**
+	 * @return the previous node in sorted order, or null if this is the first
+	 */
+	MutableAVLNode<T> predecessor() {
+		if (left != null) return left.rightmost();
+		MutableAVLNode<T> node = this;
+		while (node.parent != null && node == node.parent.left) node = node.parent;
+		return node.parent;
+	}
+
+	public String toString() {
+		if (left == null && right == null)
+			return value.toString();
+		return "%s -> (%s, %s)".formatted(value.toString(),
+				left == null ? "." : left.toString(), right == null ? "." : right.toString());
+	}
+}
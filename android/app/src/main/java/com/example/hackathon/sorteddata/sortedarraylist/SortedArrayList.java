@@ -35,17 +35,54 @@ public class SortedArrayList<T> extends SortedData<T> {
 		return true;
 	}
 
+	/**
+	 * Appends directly when the values are strictly increasing and all follow the
+	 * current contents, and otherwise rebuilds the list from a merge.
+	 */
+	@Override
+	public int bulkLoad(Iterator<T> values) {
+		ArrayList<T> incoming = new ArrayList<>();
+		values.forEachRemaining(incoming::add);
+		if (incoming.isEmpty()) return 0;
+
+		boolean appendable = list.isEmpty() || comparator.compare(list.get(list.size() - 1), incoming.get(0)) < 0;
+		for (int i = 1; appendable && i < incoming.size(); i++) {
+			appendable = comparator.compare(incoming.get(i - 1), incoming.get(i)) < 0;
+		}
+		if (appendable) {
+			list.addAll(incoming);
+			return incoming.size();
+		}
+
+		int before = list.size();
+		List<T> merged = mergeSorted(list.iterator(), incoming.iterator(), comparator);
+		list.clear();
+		list.addAll(merged);
+		return list.size() - before;
+	}
+
 	@Override
 	public T get(T value) {
 		int i = binarySearch(value);
 		return i < list.size() && comparator.compare(list.get(i), value) == 0 ? list.get(i) : null;
 	}
 
+	/**
+	 * Seeks to start with a binary search. Going forwards the first element returned is
+	 * the smallest not less than start; going backwards it is the largest not greater
+	 * than start. A null start begins at the corresponding end of the list.
+	 */
 	@Override
 	public Iterator<T> getRange(T start, int count, boolean backwards) {
-		if (backwards)
-			throw new IllegalArgumentException("SortedArrayList does not yet support backwards iteration");
-		return new SortedArrayListIterator<>(list, comparator, start, count);
+		int index;
+		if (start == null) {
+			index = backwards ? list.size() - 1 : 0;
+		} else {
+			index = binarySearch(start);
+			if (backwards && (index == list.size() || comparator.compare(list.get(index), start) != 0))
+				index--;
+		}
+		return new SortedArrayListIterator<>(list, index, count, backwards);
 	}
 
 	@Override
@@ -71,6 +108,6 @@ public class SortedArrayList<T> extends SortedData<T> {
 	}
 
 	public Iterator<T> getAll() {
-		return new SortedArrayListIterator<>(list, comparator, null, -1);
+		return new SortedArrayListIterator<>(list, 0, -1, false);
 	}
 }
@@ -1,29 +1,37 @@
 package  com.example.hackathon.sorteddata.sortedarraylist;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.Iterator;
 
 public class SortedArrayListIterator<T> implements Iterator<T> {
 	private final ArrayList<T> data;
+	private final boolean backwards;
 	private int index;
 	private int count;
 
-	public SortedArrayListIterator(ArrayList<T> data, Comparator<T> comparator, T from, int count) {
+	/**
+	 * @param data the backing list
+	 * @param index the index of the first element to return, found by SortedArrayList's binary search
+	 * @param count the maximum number of elements to return, or negative for no limit
+	 * @param backwards whether to step towards the start of the list instead of the end
+	 */
+	public SortedArrayListIterator(ArrayList<T> data, int index, int count, boolean backwards) {
 		this.data = data;
-		this.index = 0;
-		if (from != null)
-			while (index < data.size() && comparator.compare(from, data.get(index)) > 0) index++;
+		this.index = index;
 		this.count = count;
+		this.backwards = backwards;
 	}
+
 	@Override
 	public boolean hasNext() {
-		return index < data.size() && count != 0;
+		return index >= 0 && index < data.size() && count != 0;
 	}
 
 	@Override
 	public T next() {
 		count--;
-		return data.get(index++);
+		T value = data.get(index);
+		index += backwards ? -1 : 1;
+		return value;
 	}
 }
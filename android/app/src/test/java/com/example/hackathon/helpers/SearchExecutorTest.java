@@ -0,0 +1,95 @@
+package com.example.hackathon.helpers;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SearchExecutorTest {
+    private SearchExecutor<Integer> searchExecutor;
+    private final LinkedBlockingQueue<List<Integer>> delivered = new LinkedBlockingQueue<>();
+
+    @Before
+    public void setUp() {
+        // Delivered straight away on the search thread, in place of the main thread
+        searchExecutor = new SearchExecutor<>(Runnable::run);
+    }
+
+    @After
+    public void tearDown() {
+        searchExecutor.shutdown();
+    }
+
+    private void collect(List<Integer> results) {
+        delivered.add(results);
+    }
+
+    private List<Integer> nextDelivered() throws InterruptedException {
+        List<Integer> results = delivered.poll(5, TimeUnit.SECONDS);
+        assertNotNull("Expected results to be delivered", results);
+        return results;
+    }
+
+    @Test
+    public void testOnlyTheLatestSearchIsDelivered() throws InterruptedException {
+        searchExecutor.submit(() -> List.of(1), this::collect);
+        searchExecutor.submit(() -> List.of(2), this::collect);
+        searchExecutor.submitNow(() -> List.of(3), this::collect);
+
+        assertEquals(List.of(3), nextDelivered());
+        assertNull(delivered.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testRunningSearchIsInterruptedByANewerOne() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        searchExecutor.submitNow(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IllegalStateException(e);
+            }
+            return List.of(1);
+        }, this::collect);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        searchExecutor.submitNow(() -> List.of(2), this::collect);
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        // The interrupted search failed, but was replaced, so it delivers nothing
+        assertEquals(List.of(2), nextDelivered());
+        assertNull(delivered.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedSearchDeliversNoResults() throws InterruptedException {
+        searchExecutor.submitNow(() -> {
+            throw new IllegalStateException("Index unavailable");
+        }, this::collect);
+        assertEquals(List.of(), nextDelivered());
+
+        // The executor carries on with the next search
+        searchExecutor.submitNow(() -> List.of(1), this::collect);
+        assertEquals(List.of(1), nextDelivered());
+    }
+
+    @Test
+    public void testLargeResultsArriveInOneGo() throws InterruptedException {
+        List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < 175; i++) results.add(i);
+        searchExecutor.submitNow(() -> results, this::collect);
+
+        assertEquals(results, nextDelivered());
+        assertNull(delivered.poll(300, TimeUnit.MILLISECONDS));
+    }
+}
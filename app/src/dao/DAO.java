@@ -1,10 +1,17 @@
 package dao;
 
 import dao.model.HasUUID;
+import sorteddata.Page;
 import sorteddata.SortedData;
 import sorteddata.SortedDataFactory;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class DAO<T extends HasUUID> {
 	protected DAO(Comparator<T> comparator) {
@@ -14,7 +21,19 @@ public abstract class DAO<T extends HasUUID> {
 
 	protected final Comparator<T> comparator;
 
-	protected SortedData<T> data;
+	protected volatile SortedData<T> data;
+
+	/**
+	 * Secondary index over the same elements as data, keyed by UUID. The sorted
+	 * structure is ordered by the comparator, which need not involve the UUID at all
+	 * (UserDAO sorts by username), so without this every UUID lookup is a full scan.
+	 */
+	private final Map<UUID, T> uuidIndex = new ConcurrentHashMap<>();
+
+	// Bumped by every change, so that callers such as DataManager can tell cheaply whether
+	// anything changed since they last looked, without comparing the elements themselves
+	private final AtomicLong version = new AtomicLong();
+	private final AtomicLong generation = new AtomicLong();
 
 	/**
 	 * Fetches an element from the DAO by comparison with the stored comparator.
@@ -34,7 +53,69 @@ public abstract class DAO<T extends HasUUID> {
 	 * @return true if the operation was successful, false otherwise
 	 */
 	public boolean add(T element) {
-		return data.insert(element);
+		if (!data.insert(element)) return false;
+		onAdd(element);
+		return true;
+	}
+
+	/**
+	 * Adds many elements at once. When they arrive in the comparator's order this
+	 * is linear, rather than paying for each insert separately.
+	 * @param elements the elements
+	 * @return the number of elements added
+	 */
+	public int addAll(Iterator<T> elements) {
+		List<T> incoming = new ArrayList<>();
+		elements.forEachRemaining(incoming::add);
+		int added = data.bulkLoad(incoming.iterator());
+		for (T element : incoming) {
+			// Elements that duplicated an existing one were skipped, and find that one instead
+			if (data.get(element) == element) onAdd(element);
+		}
+		return added;
+	}
+
+	/**
+	 * Called once for every element newly stored by add or addAll. Subclasses that
+	 * keep their own indexes extend this, calling the super method.
+	 * @param element the element that was stored
+	 */
+	protected void onAdd(T element) {
+		uuidIndex.put(element.getUUID(), element);
+		changed();
+	}
+
+	/**
+	 * Records that a stored element was changed in place. Subclasses that mutate
+	 * their elements call this, so that the change shows in {@link #getVersion()}.
+	 */
+	protected void changed() {
+		version.incrementAndGet();
+	}
+
+	/**
+	 * @return a number that changes whenever an element is added or changed, or the DAO is cleared
+	 */
+	public long getVersion() {
+		return version.get();
+	}
+
+	/**
+	 * @return a number that changes only when the DAO is cleared, after which none of
+	 * the elements stored before are part of it any more
+	 */
+	public long getGeneration() {
+		return generation.get();
+	}
+
+	/**
+	 * Fetches an element by its UUID in constant time, regardless of the
+	 * order used by the comparator
+	 * @param id the UUID to search for
+	 * @return the element if found, null otherwise
+	 */
+	public T getByUUID(UUID id) {
+		return uuidIndex.get(id);
 	}
 
 	/**
@@ -42,6 +123,9 @@ public abstract class DAO<T extends HasUUID> {
 	 */
 	public void clear() {
 		data = SortedDataFactory.makeSortedData(comparator);
+		uuidIndex.clear();
+		generation.incrementAndGet();
+		changed();
 	}
 
 	/**
@@ -52,6 +136,26 @@ public abstract class DAO<T extends HasUUID> {
 		return data.getAll();
 	}
 
+	/**
+	 * Fetches the first page of elements in the comparator's order, or in reverse
+	 * @param count the maximum number of elements on the page
+	 * @param backwards whether to start from the last element instead of the first
+	 * @return the page, with a cursor for the next one
+	 */
+	public Page<T> getPage(int count, boolean backwards) {
+		return data.getPage(count, backwards);
+	}
+
+	/**
+	 * Fetches the page that follows the one a cursor came from
+	 * @param cursor the cursor
+	 * @param count the maximum number of elements on the page
+	 * @return the page, with a cursor for the next one
+	 */
+	public Page<T> getPage(Page.Cursor<T> cursor, int count) {
+		return data.getPage(cursor, count);
+	}
+
 	/**
 	 * Fetches a single random element from the DAO
 	 * @return the element
@@ -4,8 +4,15 @@ import dao.model.HasUUID;
 import dao.model.Message;
 import dao.model.Post;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PostDAO extends DAO<Post> {
 	/**
@@ -18,6 +25,17 @@ public class PostDAO extends DAO<Post> {
 	}
 	private static PostDAO instance;
 
+	// Every message of every stored post, by id. Not initialised here: DAO's constructor
+	// calls clear() before this class's field initialisers would run.
+	private volatile Map<UUID, Message> messageIndex;
+
+	// Bumped by every message stored in any post, which getVersion() does not count
+	private final AtomicLong messageVersion = new AtomicLong();
+
+	// Posts already carrying our insert listener, so that one added again after clear() gets
+	// no second listener. Posts compare by identity, and are forgotten once unreachable.
+	private final Set<Post> listenedTo = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
 	/**
 	 * Gets a singleton instance of PostDAO, creating one if necessary.
 	 * @return the instance
@@ -27,6 +45,60 @@ public class PostDAO extends DAO<Post> {
 		return instance;
 	}
 
+	/**
+	 * Indexes the messages a newly stored post already holds, and any inserted into it later
+	 * @param post the post
+	 */
+	@Override
+	protected void onAdd(Post post) {
+		super.onAdd(post);
+		// Listen before reading, so a message inserted meanwhile is not missed; one seen both
+		// ways is only indexed twice, which is harmless
+		if (listenedTo.add(post)) post.messages.addInsertListener(message -> indexMessage(post, message));
+		for (Iterator<Message> it = post.messages.getAll(); it.hasNext(); ) {
+			indexMessage(post, it.next());
+		}
+	}
+
+	private void indexMessage(Post post, Message message) {
+		// A post dropped by clear() still carries its listener, so check it is still ours
+		if (getByUUID(post.id) == post) {
+			messageIndex.put(message.id(), message);
+			messageVersion.incrementAndGet();
+		}
+	}
+
+	/**
+	 * @return a number that changes whenever a message is stored in any post
+	 */
+	public long getMessageVersion() {
+		return messageVersion.get();
+	}
+
+	/**
+	 * Fetches a message from any post by its UUID, in constant time
+	 * @param id the UUID of the message
+	 * @return the message if found, null otherwise
+	 */
+	public Message getMessage(UUID id) {
+		return messageIndex.get(id);
+	}
+
+	/**
+	 * Checks whether any post holds a message with the given UUID, in constant time
+	 * @param id the UUID of the message
+	 * @return true if the message exists, false otherwise
+	 */
+	public boolean containsMessage(UUID id) {
+		return messageIndex.containsKey(id);
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		messageIndex = new ConcurrentHashMap<>();
+	}
+
 	/**
 	 * Gets the ith post, in order of timestamp
 	 * @param i the index of the post to search for
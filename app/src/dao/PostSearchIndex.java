@@ -0,0 +1,431 @@
+package dao;
+
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+/**
+ * An inverted index over every post's topic, messages and author's username, for
+ * case-insensitive substring search. Each post is filed under every run of one to
+ * three characters found in its text, so a query of up to three characters is a
+ * single lookup. A longer query intersects the lists for each of its three-character
+ * runs, then checks the whole query against the lower-cased text of the few posts left.
+ * While the user types, each query usually contains the last one, so it can only match
+ * posts the last one did; when those are fewer, only they are checked.
+ *
+ * Matches are ranked, best first. A post scores for each field the query appears
+ * in, more for the topic than the author and more for the author than a message, rising
+ * slowly with the number of times it appears there, and is favoured the more recent its
+ * latest message. Only the best few are kept, in a bounded heap, so ranking thousands of
+ * matches costs little more than finding them.
+ *
+ * It is built on first use, and before each search brings itself up to date by
+ * comparing the versions PostDAO and each post's messages keep with the ones it
+ * last indexed, so only new posts and posts that gained messages are read again.
+ */
+public class PostSearchIndex {
+	private static final int GRAM = 3;
+	// Separates the fields of a post's text, so that no run spans two of them
+	private static final char SEPARATOR = '\0';
+	private static final double TOPIC_WEIGHT = 4;
+	private static final double AUTHOR_WEIGHT = 2;
+	private static final double MESSAGE_WEIGHT = 1;
+	// How much older than the newest post a post can be before its recency counts for half
+	private static final long RECENCY_HALF_LIFE_MILLIS = 24 * 60 * 60 * 1000;
+
+	private static PostSearchIndex instance;
+
+	/**
+	 * Gets a singleton instance of PostSearchIndex, creating one if necessary.
+	 * @return the instance
+	 */
+	public static synchronized PostSearchIndex getInstance() {
+		if (instance == null) instance = new PostSearchIndex();
+		return instance;
+	}
+
+	private final PostDAO posts = PostDAO.getInstance();
+	private final UserDAO users = UserDAO.getInstance();
+
+	// Posts are numbered in the order they were indexed, and the lists hold those numbers
+	private final List<Post> indexed = new ArrayList<>();
+	private final List<String> texts = new ArrayList<>();
+	private final Map<UUID, Integer> numbers = new HashMap<>();
+	private long[] messageVersions = new long[16];
+	// The timestamp of each post's latest message, and the latest of them all
+	private long[] latest = new long[16];
+	private long newest = Long.MIN_VALUE;
+	private GramTable grams = new GramTable();
+	private long generation = -1;
+	private long postsVersion = -1;
+	private long messageVersion = -1;
+
+	// The last query and the sorted numbers of the posts it matched, until the index changes
+	private String lastQuery;
+	private int[] lastMatches;
+
+	private PostSearchIndex() {}
+
+	/**
+	 * Finds every post whose topic, author's username or any message contains the query,
+	 * ignoring case and surrounding whitespace, ranked by where and how often the query
+	 * appears in each and how recent each is
+	 * @param query the text to search for
+	 * @param limit the most posts to return
+	 * @return the UUIDs of up to limit matching posts, best first; the most recent posts if
+	 * the query is blank
+	 * @throws CancellationException if the thread is interrupted while matches are ranked,
+	 * as a newer search does to the one it replaces
+	 */
+	public synchronized List<UUID> search(String query, int limit) {
+		update();
+		String text = query == null ? "" : query.toLowerCase().trim();
+		if (limit <= 0) return new ArrayList<>();
+
+		int[] found = null;
+		if (!text.isEmpty()) {
+			found = find(text);
+			lastQuery = text;
+			lastMatches = found;
+		}
+		int candidates = found == null ? indexed.size() : found.length;
+
+		// The head is the worst of the best so far, so a match only gets in by beating it
+		PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(limit, candidates) + 1);
+		if (found == null) {
+			for (int number = 0; number < candidates; number++) {
+				checkInterrupted(number);
+				offer(best, limit, number, recency(number));
+			}
+		} else {
+			for (int i = 0; i < found.length; i++) {
+				checkInterrupted(i);
+				offer(best, limit, found[i], relevance(found[i], text) * (1 + recency(found[i])));
+			}
+		}
+
+		Scored[] ranked = best.toArray(new Scored[0]);
+		Arrays.sort(ranked, Comparator.reverseOrder());
+		List<UUID> matches = new ArrayList<>(ranked.length);
+		for (Scored scored : ranked) matches.add(indexed.get(scored.number).id);
+		return matches;
+	}
+
+	/**
+	 * Gives up ranking once the thread is interrupted, checking every so often rather than for every post
+	 */
+	private static void checkInterrupted(int ranked) {
+		if ((ranked & 255) == 0 && Thread.currentThread().isInterrupted()) throw new CancellationException("Search interrupted");
+	}
+
+	private static void offer(PriorityQueue<Scored> best, int limit, int number, double score) {
+		Scored scored = new Scored(number, score);
+		if (best.size() == limit) {
+			if (scored.compareTo(best.peek()) <= 0) return;
+			best.poll();
+		}
+		best.add(scored);
+	}
+
+	/**
+	 * Scores each field the query appears in by its weight, damped so that every further
+	 * appearance counts for less
+	 */
+	private double relevance(int number, String query) {
+		String text = texts.get(number);
+		// The topic and the author's username come first, each followed by a separator
+		int topicEnd = text.indexOf(SEPARATOR);
+		int authorEnd = text.indexOf(SEPARATOR, topicEnd + 1);
+		if (authorEnd < 0) authorEnd = text.length();
+
+		int topic = 0, author = 0, message = 0;
+		for (int at = text.indexOf(query); at >= 0; at = text.indexOf(query, at + 1)) {
+			if (at < topicEnd) topic++;
+			else if (at < authorEnd) author++;
+			else message++;
+		}
+		return TOPIC_WEIGHT * damped(topic) + AUTHOR_WEIGHT * damped(author) + MESSAGE_WEIGHT * damped(message);
+	}
+
+	private static double damped(int count) {
+		return count == 0 ? 0 : 1 + Math.log(count);
+	}
+
+	/**
+	 * @return 1 for the newest post, falling towards 0 the older a post is than it
+	 */
+	private double recency(int number) {
+		double age = Math.max(0, (double) newest - latest[number]);
+		return RECENCY_HALF_LIFE_MILLIS / (RECENCY_HALF_LIFE_MILLIS + age);
+	}
+
+	/**
+	 * A post's score, ordered worst first, with ties going to the post indexed first
+	 */
+	private record Scored(int number, double score) implements Comparable<Scored> {
+		@Override
+		public int compareTo(Scored other) {
+			int delta = Double.compare(score, other.score);
+			return delta != 0 ? delta : Integer.compare(other.number, number);
+		}
+	}
+
+	/**
+	 * @return the sorted numbers of the posts whose text contains a lower-cased, non-empty query
+	 */
+	private int[] find(String text) {
+		if (text.length() <= GRAM) {
+			// Every run this short was filed, so the list is exactly the posts containing it
+			Postings list = grams.get(text, 0, text.length());
+			return list == null ? new int[0] : Arrays.copyOf(list.numbers, list.size);
+		}
+
+		List<Postings> lists = new ArrayList<>();
+		for (int i = 0; i + GRAM <= text.length(); i++) {
+			Postings list = grams.get(text, i, GRAM);
+			if (list == null) return new int[0];
+			lists.add(list);
+		}
+		lists.sort(Comparator.comparingInt(list -> list.size));
+		Postings shortest = lists.get(0);
+
+		if (lastQuery != null && text.contains(lastQuery) && lastMatches.length < shortest.size) {
+			// Only posts that matched the shorter query can match this one
+			int[] found = new int[lastMatches.length];
+			int count = 0;
+			for (int number : lastMatches) {
+				if (texts.get(number).contains(text)) found[count++] = number;
+			}
+			return Arrays.copyOf(found, count);
+		}
+
+		int[] found = new int[shortest.size];
+		int count = 0;
+		// Walk the shortest list, probing the others, so the work is bounded by the rarest run
+		candidates:
+		for (int i = 0; i < shortest.size; i++) {
+			int number = shortest.numbers[i];
+			for (int j = 1; j < lists.size(); j++) {
+				if (!lists.get(j).contains(number)) continue candidates;
+			}
+			// Having every run does not mean having them side by side
+			if (texts.get(number).contains(text)) found[count++] = number;
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Indexes posts that are new, and messages added to existing posts, since the last search.
+	 * Clearing the PostDAO replaces all of its posts, so the index starts again.
+	 */
+	private void update() {
+		if (posts.getGeneration() != generation) {
+			generation = posts.getGeneration();
+			indexed.clear();
+			texts.clear();
+			numbers.clear();
+			grams = new GramTable();
+			newest = Long.MIN_VALUE;
+		}
+		// Read before the posts, so anything added meanwhile is picked up next time
+		long latestPostsVersion = posts.getVersion();
+		long latestMessageVersion = posts.getMessageVersion();
+		if (latestPostsVersion == postsVersion && latestMessageVersion == messageVersion) return;
+		postsVersion = latestPostsVersion;
+		messageVersion = latestMessageVersion;
+		// A new post or message may match the last query too
+		lastQuery = null;
+		lastMatches = null;
+
+		for (Iterator<Post> iterator = posts.getAll(); iterator.hasNext(); ) {
+			Post post = iterator.next();
+			Integer number = numbers.get(post.id);
+			// Read before the messages, so one inserted meanwhile is picked up next time
+			long version = post.messages.getVersion();
+			if (number == null) {
+				number = indexed.size();
+				indexed.add(post);
+				texts.add(null);
+				numbers.put(post.id, number);
+				if (number == messageVersions.length) {
+					messageVersions = Arrays.copyOf(messageVersions, number * 2);
+					latest = Arrays.copyOf(latest, number * 2);
+				}
+			} else if (messageVersions[number] == version) {
+				continue;
+			}
+			messageVersions[number] = version;
+			latest[number] = latestTimestamp(post);
+			newest = Math.max(newest, latest[number]);
+			String text = text(post);
+			texts.set(number, text);
+			// Runs already filed are filed again harmlessly, as each list holds a post once
+			add(number, text);
+		}
+	}
+
+	/**
+	 * Messages are kept sorted by time, so the latest is at one end or the other
+	 */
+	private static long latestTimestamp(Post post) {
+		long timestamp = Long.MIN_VALUE;
+		Iterator<Message> first = post.messages.getRange(null, 1, false);
+		Iterator<Message> last = post.messages.getRange(null, 1, true);
+		if (first.hasNext()) timestamp = Math.max(timestamp, first.next().timestamp());
+		if (last.hasNext()) timestamp = Math.max(timestamp, last.next().timestamp());
+		return timestamp;
+	}
+
+	private String text(Post post) {
+		StringBuilder text = new StringBuilder();
+		if (post.topic != null) text.append(post.topic);
+		User author = post.poster == null ? null : users.getByUUID(post.poster);
+		text.append(SEPARATOR);
+		if (author != null && author.username() != null) text.append(author.username());
+		for (Iterator<Message> messages = post.messages.getAll(); messages.hasNext(); ) {
+			String message = messages.next().message();
+			text.append(SEPARATOR);
+			if (message != null) text.append(message);
+		}
+		return text.toString().toLowerCase();
+	}
+
+	private void add(int number, String text) {
+		for (int i = 0; i < text.length(); i++) {
+			for (int length = 1; length <= GRAM && i + length <= text.length(); length++) {
+				if (text.charAt(i + length - 1) == SEPARATOR) break;
+				grams.getOrAdd(text, i, length).add(number);
+			}
+		}
+	}
+
+	/**
+	 * The numbers of the posts filed under one run of characters, sorted and without repeats
+	 */
+	private static final class Postings {
+		private int[] numbers = new int[2];
+		private int size;
+
+		void add(int number) {
+			// Posts are mostly indexed in the order they were numbered, so this is usually a repeat
+			// of the last number or an append
+			if (size > 0 && numbers[size - 1] == number) return;
+			if (size > 0 && numbers[size - 1] > number) {
+				int at = Arrays.binarySearch(numbers, 0, size, number);
+				if (at >= 0) return;
+				insert(-at - 1, number);
+			} else {
+				insert(size, number);
+			}
+		}
+
+		private void insert(int at, int number) {
+			if (size == numbers.length) numbers = Arrays.copyOf(numbers, size * 2);
+			System.arraycopy(numbers, at, numbers, at + 1, size - at);
+			numbers[at] = number;
+			size++;
+		}
+
+		boolean contains(int number) {
+			return Arrays.binarySearch(numbers, 0, size, number) >= 0;
+		}
+	}
+
+	/**
+	 * Maps runs to their lists without allocating a String or boxing a key for each run filed.
+	 * Runs of one or two ASCII characters, the most common by far, index plain arrays; the rest
+	 * are packed into a long, along with their length, and kept in an open addressing table.
+	 */
+	private static final class GramTable {
+		private static final int ASCII = 128;
+
+		private final Postings[] shortRuns = new Postings[ASCII + ASCII * ASCII];
+		private long[] keys = new long[1 << 12];
+		private Postings[] values = new Postings[keys.length];
+		private int size;
+
+		Postings get(String text, int start, int length) {
+			int index = shortIndex(text, start, length);
+			if (index >= 0) return shortRuns[index];
+			long key = key(text, start, length);
+			for (int slot = slot(key, keys.length); ; slot = (slot + 1) & (keys.length - 1)) {
+				if (keys[slot] == key) return values[slot];
+				if (keys[slot] == 0) return null;
+			}
+		}
+
+		Postings getOrAdd(String text, int start, int length) {
+			int index = shortIndex(text, start, length);
+			if (index >= 0) {
+				if (shortRuns[index] == null) shortRuns[index] = new Postings();
+				return shortRuns[index];
+			}
+			return getOrAdd(key(text, start, length));
+		}
+
+		/**
+		 * @return where a run of one or two ASCII characters is kept, or -1 for any other run
+		 */
+		private static int shortIndex(String text, int start, int length) {
+			if (length > 2) return -1;
+			char first = text.charAt(start);
+			if (first >= ASCII) return -1;
+			if (length == 1) return first;
+			char second = text.charAt(start + 1);
+			return second < ASCII ? ASCII + first * ASCII + second : -1;
+		}
+
+		/**
+		 * Packs a run of up to three characters, and its length, into a long that is never zero
+		 */
+		private static long key(String text, int start, int length) {
+			long key = length;
+			for (int i = start; i < start + length; i++) key = key << 16 | text.charAt(i);
+			return key;
+		}
+
+		private Postings getOrAdd(long key) {
+			int slot = slot(key, keys.length);
+			for (; keys[slot] != 0; slot = (slot + 1) & (keys.length - 1)) {
+				if (keys[slot] == key) return values[slot];
+			}
+			if (2 * (size + 1) > keys.length) {
+				grow();
+				return getOrAdd(key);
+			}
+			keys[slot] = key;
+			size++;
+			return values[slot] = new Postings();
+		}
+
+		private void grow() {
+			long[] oldKeys = keys;
+			Postings[] oldValues = values;
+			keys = new long[oldKeys.length * 2];
+			values = new Postings[keys.length];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] == 0) continue;
+				int slot = slot(oldKeys[i], keys.length);
+				while (keys[slot] != 0) slot = (slot + 1) & (keys.length - 1);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+
+		private static int slot(long key, int capacity) {
+			long mixed = key * 0x9E3779B97F4A7C15L;
+			return (int) (mixed >>> 32) & (capacity - 1);
+		}
+	}
+}
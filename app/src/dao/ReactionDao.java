@@ -1,21 +1,36 @@
 package dao;
 
+import dao.model.Reaction;
 import dao.model.UserReactions;
 import reactions.ReactionType;
-import sorteddata.SortedData;
-import sorteddata.SortedDataFactory;
+import reactions.reports.MessageReactionStats;
 
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ReactionDao extends DAO<UserReactions> {
-    private final SortedData<UserReactions> userTree;
+    // The fields below are not final and not initialised here: DAO's constructor calls
+    // clear() before this class's field initialisers would run, so clear() sets them up.
+
+    /**
+     * Message-keyed view of the same reactions held by each UserReactions:
+     * messageId -> (userId -> (type -> timestamp)). The innermost maps are shared
+     * with UserReactions, so reports can read a single message's reactions
+     * without visiting every user.
+     */
+    private volatile Map<UUID, Map<UUID, Map<ReactionType, Long>>> reactionsByMessage;
+
+    // Running report statistics per message, for the streaming reporters
+    private volatile Map<UUID, MessageReactionStats> statsByMessage;
+
     private static ReactionDao instance;
 
     public ReactionDao() {
         super(Comparator.comparing(UserReactions::getUserId));
-        this.userTree = SortedDataFactory.makeSortedData(Comparator.comparing(UserReactions::getUserId));
     }
 
     public static ReactionDao getInstance() {
@@ -23,29 +38,101 @@ public class ReactionDao extends DAO<UserReactions> {
         return instance;
     }
 
-    public void addReaction(UUID userId, UUID messageId, ReactionType reaction, long timestamp) {
+    // Writers are serialised so that a reaction, the message index and the statistics
+    // change together; readers go through concurrent maps and never block.
+    public synchronized void addReaction(UUID userId, UUID messageId, ReactionType reaction, long timestamp) {
         UserReactions ur = findUser(userId);
         if (ur == null) {
             ur = new UserReactions(userId);
-            userTree.insert(ur);
+            add(ur);
         }
+
+        MessageReactionStats stats = statsByMessage.computeIfAbsent(messageId, k -> new MessageReactionStats());
+        Map<ReactionType, Long> existing = ur.getReactionsByMessage().get(messageId);
+        Long previous = existing == null ? null : existing.get(reaction);
+        // Re-adding a type replaces its timestamp, so the old one must leave the statistics
+        if (previous != null) stats.remove(userId, reaction, previous);
+        stats.add(userId, reaction, timestamp);
+
         ur.addReaction(messageId, reaction, timestamp);
+        reactionsByMessage.computeIfAbsent(messageId, k -> new ConcurrentHashMap<>())
+                .put(userId, ur.getReactionsByMessage().get(messageId));
+        changed();
     }
 
-    public UserReactions findUser(UUID userId) {
+    /**
+     * Removes a single reaction, keeping the message index in step with the user's reactions
+     * @return true if the reaction existed and was removed, false otherwise
+     */
+    public synchronized boolean removeReaction(UUID userId, UUID messageId, ReactionType reaction) {
+        UserReactions ur = findUser(userId);
+        if (ur == null) return false;
+        Map<ReactionType, Long> existing = ur.getReactionsByMessage().get(messageId);
+        Long timestamp = existing == null ? null : existing.get(reaction);
+        if (timestamp == null || !ur.removeReaction(messageId, reaction)) return false;
+
+        MessageReactionStats stats = statsByMessage.get(messageId);
+        if (stats != null) {
+            stats.remove(userId, reaction, timestamp);
+            if (stats.isEmpty()) statsByMessage.remove(messageId);
+        }
 
-        for (Iterator<UserReactions> ur = userTree.getAll(); ur.hasNext(); ) {
-            UserReactions user = ur.next();
-            if (user.getUUID().equals(userId)) {
-                return user;
+        if (!ur.getReactedMessageIds().contains(messageId)) {
+            Map<UUID, Map<ReactionType, Long>> byUser = reactionsByMessage.get(messageId);
+            if (byUser != null) {
+                byUser.remove(userId);
+                if (byUser.isEmpty()) reactionsByMessage.remove(messageId);
             }
         }
+        changed();
+        return true;
+    }
+
+    /**
+     * Fetches every reaction on a message, keyed by the id of the user who made it
+     * @param messageId the message
+     * @return a read-only map of userId to that user's reactions and their timestamps
+     */
+    public Map<UUID, Map<ReactionType, Long>> getReactionsForMessage(UUID messageId) {
+        Map<UUID, Map<ReactionType, Long>> byUser = reactionsByMessage.get(messageId);
+        return byUser == null ? Collections.emptyMap() : Collections.unmodifiableMap(byUser);
+    }
+
+    /**
+     * Lists every reaction, grouped by message, straight from the message index
+     * so that saving them needs no intermediate copy
+     * @return an iterator over all reactions
+     */
+    public Iterator<Reaction> getAllReactions() {
+        return reactionsByMessage.entrySet().stream()
+                .flatMap(message -> message.getValue().entrySet().stream()
+                        .flatMap(user -> user.getValue().entrySet().stream()
+                                .map(type -> new Reaction(message.getKey(), user.getKey(), type.getKey(), type.getValue()))))
+                .iterator();
+    }
+
+    /**
+     * Fetches the running report statistics for a message
+     * @param messageId the message
+     * @return the statistics, or null if the message has no reactions
+     */
+    public MessageReactionStats getReactionStats(UUID messageId) {
+        return statsByMessage.get(messageId);
+    }
 
-        return null;
+    /**
+     * Fetches a user's reactions by probing the sorted structure, which is ordered by user id
+     * @return the user's reactions, or null if they have never reacted
+     */
+    public UserReactions findUser(UUID userId) {
+        return get(new UserReactions(userId));
     }
 
-    public Iterator<UserReactions> getAll() {
-        return userTree.getAll();
+    @Override
+    public synchronized void clear() {
+        super.clear();
+        reactionsByMessage = new ConcurrentHashMap<>();
+        statsByMessage = new ConcurrentHashMap<>();
     }
 
 }
@@ -2,7 +2,6 @@ package dao;
 
 import dao.model.User;
 
-import java.util.Iterator;
 import java.util.UUID;
 
 public class UserDAO extends DAO<User> {
@@ -55,19 +54,6 @@ public class UserDAO extends DAO<User> {
 		if (existingUser != null) return null;
 
 		User newUser = new User(UUID.randomUUID(), User.Role.Member, username, password);
-		return data.insert(newUser) ? newUser : null;
-	}
-
-	/**
-	 * Fetches a User by just a UUID
-	 * @param id the UUID to search for
-	 * @return the user if they exist, else null
-	 */
-	public User getByUUID(UUID id) {
-        for (Iterator<User> it = data.getAll(); it.hasNext(); ) {
-            User user = it.next();
-            if (user.getUUID().equals(id)) return user;
-        }
-		return null;
+		return add(newUser) ? newUser : null;
 	}
 }
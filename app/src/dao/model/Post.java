@@ -1,7 +1,7 @@
 package dao.model;
 
 import dao.MessageComparator;
-import sorteddata.SortedData;
+import sorteddata.ObservableSortedData;
 import sorteddata.SortedDataFactory;
 
 import java.util.UUID;
@@ -10,13 +10,13 @@ public class Post implements HasUUID {
 	public final UUID id;
 	public final UUID poster;
 	public final String topic;
-    public final SortedData<Message> messages;
+    public final ObservableSortedData<Message> messages;
 
 	public Post(UUID id, UUID poster, String topic) {
 		this.id = id;
 		this.poster = poster;
 		this.topic = topic;
-		this.messages = SortedDataFactory.makeSortedData(MessageComparator.getInstance());
+		this.messages = new ObservableSortedData<>(SortedDataFactory.makeSortedData(MessageComparator.getInstance()));
 	}
 
 	public Post(UUID id) {
@@ -0,0 +1,7 @@
+package dao.model;
+
+import reactions.ReactionType;
+
+import java.util.UUID;
+
+public record Reaction(UUID message, UUID user, ReactionType type, long timestamp) {}
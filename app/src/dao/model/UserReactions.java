@@ -3,6 +3,7 @@ package dao.model;
 import reactions.ReactionType;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class UserReactions implements HasUUID{
     private final UUID userId;
@@ -11,13 +12,14 @@ public class UserReactions implements HasUUID{
 
     public UserReactions(UUID userId) {
         this.userId = userId;
-        this.reactedMessageIds = new HashSet<>();
-        this.reactionsByMessage = new HashMap<>();
+        // Concurrent so that reports on other threads can read while reactions change
+        this.reactedMessageIds = ConcurrentHashMap.newKeySet();
+        this.reactionsByMessage = new ConcurrentHashMap<>();
     }
 
     public void addReaction(UUID messageId, ReactionType reaction, long timestamp) {
         reactedMessageIds.add(messageId);
-        reactionsByMessage.computeIfAbsent(messageId, k -> new HashMap<>()).put(reaction, timestamp);
+        reactionsByMessage.computeIfAbsent(messageId, k -> new ConcurrentHashMap<>()).put(reaction, timestamp);
     }
 
     public Set<UUID> getReactedMessageIds() {
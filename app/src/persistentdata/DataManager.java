@@ -1,17 +1,40 @@
 package persistentdata;
 
+import dao.DAO;
 import dao.PostDAO;
+import dao.ReactionDao;
 import dao.UserDAO;
 import dao.model.Message;
 import dao.model.Post;
 import dao.model.User;
+import dao.model.Reaction;
+import persistentdata.MutationLog.Operation;
 import persistentdata.formatted.CSVFormat;
 import persistentdata.formatted.CSVFormattedFactory;
 import persistentdata.io.ComputerIOFactory;
 import persistentdata.io.IOFactory;
 import persistentdata.serialization.MessageSerializer;
 import persistentdata.serialization.PostSerializer;
+import persistentdata.serialization.ReactionSerializer;
+import persistentdata.serialization.UUIDCodec;
 import persistentdata.serialization.UserSerializer;
+import reactions.ReactionType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.StreamSupport;
 
 public class DataManager {
 	private static DataManager instance;
@@ -21,34 +44,324 @@ public class DataManager {
 		return instance;
 	}
 
-	private final IOFactory IO = new ComputerIOFactory();
+	private final IOFactory IO;
+
+	private final DataPipeline<User, String[]> userPipeline;
+	private final DataPipeline<Post, String[]> postPipeline;
+	// The single messages file written before they were split up, still read so that its messages are not lost
+	private final DataPipeline<Message, String[]> messagePipeline;
+	private final List<DataPipeline<Message, String[]>> messagePartitions = new ArrayList<>();
+	private final DataPipeline<Reaction, String[]> reactionPipeline;
+
+	// Parses the snapshot files for readAllAsync; virtual threads, so blocking on file reads costs nothing
+	private static final ExecutorService LOADER = Executors.newVirtualThreadPerTaskExecutor();
+
+	// Messages are split by post across this many files, so that a reply only rewrites the file its post is in
+	private static final int MESSAGE_PARTITIONS = 16;
+	private static final String MESSAGES = "messages";
 
-	// We have assumed that most solutions to the serialization task in week-5 will
-	// use a 4-column schema for Users. If this is not the case, you may need to
-	// change the number below.
-	private final DataPipeline<User, String[]> userPipeline = new DataPipeline<>(
-			IO, new CSVFormattedFactory(new CSVFormat(4)), new UserSerializer(), "users");
+	/**
+	 * What a snapshot file was last written from: the generation and version of its source at the time
+	 */
+	private record Stamp(long generation, long version) {}
+	private static final Stamp EMPTY = new Stamp(0, 0);
 
-	private final DataPipeline<Post, String[]> postPipeline = new DataPipeline<>(
-			IO, new CSVFormattedFactory(new CSVFormat(3)), new PostSerializer(), "posts");
+	// The stamp of each snapshot file as last written or read, per set of files. Shared, because
+	// every DataManager for the same files must agree on which are up to date. Forgetting them is
+	// safe, since a file without a stamp is simply rewritten.
+	private static final Map<IOFactory, Map<String, Stamp>> STAMPS = Collections.synchronizedMap(new WeakHashMap<>());
+	private final Map<String, Stamp> stamps;
 
-	private final DataPipeline<Message, String[]> messagePipeline = new DataPipeline<>(
-			IO, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), "messages");
+	// Mutations since the last writeAll; readAll compacts the log once it is this long
+	private static final int COMPACT_AFTER = 1000;
+	private final MutationLog log;
+	private final PersistenceScheduler scheduler = PersistenceScheduler.getInstance();
+	private final UserSerializer userSerializer = new UserSerializer();
+	private final PostSerializer postSerializer = new PostSerializer();
+	private final MessageSerializer messageSerializer = new MessageSerializer();
 
 	private final UserDAO users = UserDAO.getInstance();
 	private final PostDAO posts = PostDAO.getInstance();
+	private final ReactionDao reactions = ReactionDao.getInstance();
+
+	public DataManager() {
+		this(new ComputerIOFactory());
+	}
+
+	public DataManager(IOFactory io) {
+		this.IO = io;
+		// We have assumed that most solutions to the serialization task in week-5 will
+		// use a 4-column schema for Users. If this is not the case, you may need to
+		// change the number below.
+		userPipeline = new DataPipeline<>(IO, new CSVFormattedFactory(new CSVFormat(4)), new UserSerializer(), "users");
+		postPipeline = new DataPipeline<>(IO, new CSVFormattedFactory(new CSVFormat(3)), new PostSerializer(), "posts");
+		messagePipeline = new DataPipeline<>(IO, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), MESSAGES);
+		for (int i = 0; i < MESSAGE_PARTITIONS; i++) {
+			messagePartitions.add(new DataPipeline<>(IO, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), messageFile(i)));
+		}
+		reactionPipeline = new DataPipeline<>(IO, new CSVFormattedFactory(new CSVFormat(4)), new ReactionSerializer(), "reactions");
+		log = new MutationLog(IO, "mutations");
+		synchronized (STAMPS) {
+			stamps = STAMPS.computeIfAbsent(IO, k -> new ConcurrentHashMap<>());
+		}
+	}
 
 	public void readAll() {
+		// The files are read and loaded on the persistence thread, so no writeAll can change them in between
+		scheduler.runBeforeWriteAll(this::readAndLoad);
+	}
+
+	private void readAndLoad() {
+		List<Map<UUID, List<Message>>> partitions = new ArrayList<>();
+		for (DataPipeline<Message, String[]> pipeline : messagePartitions) partitions.add(groupByPost(pipeline.readList()));
+		load(userPipeline.readList(), postPipeline.readList(), groupByPost(messagePipeline.readList()), partitions, reactionPipeline.readListSkippingDamaged());
+	}
+
+	/**
+	 * Like {@link #readAll()}, but returns straight away, and parses each file
+	 * concurrently on a background executor before filling the DAOs
+	 * @return a future that completes once the DAOs are ready
+	 */
+	public CompletableFuture<Void> readAllAsync() {
+		return scheduler.runBeforeWriteAllAsync(this::readConcurrentlyAndLoad);
+	}
+
+	private void readConcurrentlyAndLoad() {
+		CompletableFuture<List<User>> userList = CompletableFuture.supplyAsync(userPipeline::readList, LOADER);
+		CompletableFuture<List<Post>> postList = CompletableFuture.supplyAsync(postPipeline::readList, LOADER);
+		CompletableFuture<Map<UUID, List<Message>>> legacyMessages = CompletableFuture.supplyAsync(
+				() -> groupByPost(messagePipeline.readList()), LOADER);
+		List<CompletableFuture<Map<UUID, List<Message>>>> partitions = new ArrayList<>();
+		for (DataPipeline<Message, String[]> pipeline : messagePartitions) {
+			partitions.add(CompletableFuture.supplyAsync(() -> groupByPost(pipeline.readList()), LOADER));
+		}
+		CompletableFuture<List<Reaction>> reactionList = CompletableFuture.supplyAsync(reactionPipeline::readListSkippingDamaged, LOADER);
+		List<CompletableFuture<?>> files = new ArrayList<>(List.of(userList, postList, legacyMessages, reactionList));
+		files.addAll(partitions);
+		CompletableFuture.allOf(files.toArray(new CompletableFuture<?>[0])).join();
+		load(userList.join(), postList.join(), legacyMessages.join(), joinAll(partitions), reactionList.join());
+	}
+
+	private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+		List<T> results = new ArrayList<>();
+		for (CompletableFuture<T> future : futures) results.add(future.join());
+		return results;
+	}
+
+	private static String messageFile(int partition) {
+		return MESSAGES + "-" + partition;
+	}
+
+	private static int partition(UUID post) {
+		return Math.floorMod(post.hashCode(), MESSAGE_PARTITIONS);
+	}
+
+	private static Stamp stamp(DAO<?> dao) {
+		return new Stamp(dao.getGeneration(), dao.getVersion());
+	}
+
+	/**
+	 * Groups messages by post, so that each post's replies can be bulk loaded in one go
+	 */
+	private static Map<UUID, List<Message>> groupByPost(List<Message> messages) {
+		Map<UUID, List<Message>> messagesByPost = new HashMap<>();
+		for (Message message : messages) {
+			messagesByPost.computeIfAbsent(message.thread(), k -> new ArrayList<>()).add(message);
+		}
+		return messagesByPost;
+	}
+
+	/**
+	 * Replaces the DAOs' contents with what was read from the snapshot files, then replays the log.
+	 * Messages are attached to their posts only once every post is in. Files that hold exactly
+	 * what was loaded from them are stamped, so that writeAll leaves them alone until something changes.
+	 * Only called on the persistence thread, after reading the files there, so that loads never
+	 * interleave and a requested writeAll neither changes the files between reading and loading nor
+	 * compacts the log before it is replayed.
+	 */
+	private void load(List<User> userList, List<Post> postList, Map<UUID, List<Message>> legacyMessages,
+			List<Map<UUID, List<Message>>> partitions, List<Reaction> reactionList) {
 		users.clear();
 		posts.clear();
-		userPipeline.readTo(users::add);
-		postPipeline.readTo(posts::add);
-		messagePipeline.readTo((message) -> posts.get(new Post(message.thread())).messages.insert(message));
+		reactions.clear();
+
+		// Files written by writeAll are already in each DAO's order, so these loads are linear
+		users.addAll(userList.iterator());
+		posts.addAll(postList.iterator());
+		// Messages in the old single file, in the wrong partition or of a missing post mean the message files need rewriting
+		boolean messagesAsSaved = legacyMessages.isEmpty();
+		attach(legacyMessages);
+		for (int i = 0; i < partitions.size(); i++) {
+			for (Map.Entry<UUID, List<Message>> entry : partitions.get(i).entrySet()) {
+				if (partition(entry.getKey()) != i) messagesAsSaved = false;
+			}
+			messagesAsSaved &= attach(partitions.get(i));
+		}
+		// Malformed rows were skipped rather than failing the load, and are dropped by rewriting the file
+		boolean reactionsAsSaved = reactionPipeline.damaged() == 0;
+		for (Reaction reaction : reactionList) {
+			// As before, reactions to users or messages that no longer exist are dropped
+			if (users.getByUUID(reaction.user()) == null || !posts.containsMessage(reaction.message())) {
+				reactionsAsSaved = false;
+				continue;
+			}
+			reactions.addReaction(reaction.user(), reaction.message(), reaction.type(), reaction.timestamp());
+		}
+
+		stamps.clear();
+		stamps.put("users", stamp(users));
+		stamps.put("posts", stamp(posts));
+		if (messagesAsSaved) {
+			stamps.put(MESSAGES, EMPTY);
+			stampMessages((partition, stamp, postsInPartition) -> stamps.put(messageFile(partition), stamp));
+		}
+		if (reactionsAsSaved) stamps.put("reactions", stamp(reactions));
+
+		// Then everything that happened since those files were written, including entries queued when the read began
+		if (log.replay(this::apply) >= COMPACT_AFTER || log.damaged() > 0) {
+			writeAllNow();
+		}
 	}
 
+	/**
+	 * Bulk loads each post's messages into it
+	 * @return false if any of them belong to a post that is not stored
+	 */
+	private boolean attach(Map<UUID, List<Message>> messagesByPost) {
+		boolean allAttached = true;
+		for (Map.Entry<UUID, List<Message>> entry : messagesByPost.entrySet()) {
+			Post post = posts.getByUUID(entry.getKey());
+			if (post == null) allAttached = false;
+			else post.messages.bulkLoad(entry.getValue().iterator());
+		}
+		return allAttached;
+	}
+
+	/**
+	 * Rewrites every snapshot file whose contents changed and compacts the mutation log, once
+	 * any queued log entries are written, and waits for it to finish
+	 */
 	public void writeAll() {
-		userPipeline.writeFrom(users.getAll());
-		postPipeline.writeFrom(posts.getAll());
-		messagePipeline.writeFrom(posts.getAllMessages());
+		scheduler.runAndWait(this::writeAllNow);
+	}
+
+	/**
+	 * Like {@link #writeAll()}, but returns straight away and rewrites the files in the background.
+	 * Requests made in quick succession are carried out once.
+	 */
+	public void writeAllLater() {
+		scheduler.requestWriteAll(this);
+	}
+
+	/**
+	 * Only called on the persistence thread, so that it never races a log append
+	 */
+	void writeAllNow() {
+		writeIfChanged("users", stamp(users), () -> userPipeline.writeFrom(users.getAll()));
+		writeIfChanged("posts", stamp(posts), () -> postPipeline.writeFrom(posts.getAll()));
+		stampMessages((partition, stamp, postsInPartition) -> writeIfChanged(messageFile(partition), stamp,
+				() -> messagePartitions.get(partition).writeFrom(messagesOf(postsInPartition))));
+		// Only once every message is in its partition can the old single file be emptied
+		writeIfChanged(MESSAGES, EMPTY, () -> messagePipeline.writeFrom(Collections.emptyIterator()));
+
+		writeIfChanged("reactions", stamp(reactions), () -> reactionPipeline.writeFrom(reactions.getAllReactions()));
+
+		// The snapshot files now hold everything the log did
+		log.reset(List.of());
+	}
+
+	/**
+	 * Writes a snapshot file unless its stamp shows it already holds what its source does. The
+	 * stamp is taken before writing, so a change made while it is written is picked up next time.
+	 */
+	private void writeIfChanged(String file, Stamp stamp, Runnable write) {
+		if (stamp.equals(stamps.get(file))) return;
+		write.run();
+		stamps.put(file, stamp);
+	}
+
+	private interface PartitionStamp {
+		void run(int partition, Stamp stamp, List<Post> postsInPartition);
+	}
+
+	/**
+	 * Works out each message partition's stamp and posts. Messages are only ever inserted, never
+	 * removed, so the sum of its posts' message versions grows whenever a partition changes, until
+	 * the PostDAO is cleared and its generation moves on.
+	 */
+	private void stampMessages(PartitionStamp apply) {
+		List<List<Post>> postsByPartition = new ArrayList<>();
+		for (int i = 0; i < MESSAGE_PARTITIONS; i++) postsByPartition.add(new ArrayList<>());
+		long[] versions = new long[MESSAGE_PARTITIONS];
+		long generation = posts.getGeneration();
+		for (Iterator<Post> iterator = posts.getAll(); iterator.hasNext(); ) {
+			Post post = iterator.next();
+			int partition = partition(post.id);
+			postsByPartition.get(partition).add(post);
+			versions[partition] += post.messages.getVersion();
+		}
+		for (int i = 0; i < MESSAGE_PARTITIONS; i++) apply.run(i, new Stamp(generation, versions[i]), postsByPartition.get(i));
+	}
+
+	private static Iterator<Message> messagesOf(List<Post> postsInPartition) {
+		return postsInPartition.stream()
+				.flatMap(post -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(post.messages.getAll(), Spliterator.ORDERED), false))
+				.iterator();
+	}
+
+	/**
+	 * Records a user that was added since the last writeAll, by queueing an entry for the mutation log
+	 */
+	public void logUser(User user) {
+		scheduler.append(log, MutationLog.entry(Operation.ADD_USER, userSerializer.serialize(user)));
+	}
+
+	/**
+	 * Records a post that was added since the last writeAll, along with any messages it already has
+	 */
+	public void logPost(Post post) {
+		scheduler.append(log, MutationLog.entry(Operation.ADD_POST, postSerializer.serialize(post)));
+		Iterator<Message> messages = post.messages.getAll();
+		while (messages.hasNext()) logMessage(messages.next());
+	}
+
+	/**
+	 * Records a message that was added to an existing post since the last writeAll
+	 */
+	public void logMessage(Message message) {
+		scheduler.append(log, MutationLog.entry(Operation.ADD_MESSAGE, messageSerializer.serialize(message)));
+	}
+
+	public void logReactionAdded(UUID user, UUID message, ReactionType type, long timestamp) {
+		scheduler.append(log, MutationLog.entry(Operation.ADD_REACTION, UUIDCodec.encode(user), UUIDCodec.encode(message), type.name(), String.valueOf(timestamp)));
+	}
+
+	public void logReactionRemoved(UUID user, UUID message, ReactionType type) {
+		scheduler.append(log, MutationLog.entry(Operation.REMOVE_REACTION, UUIDCodec.encode(user), UUIDCodec.encode(message), type.name()));
+	}
+
+	/**
+	 * Re-applies one logged mutation. Entries may repeat what the snapshot files already
+	 * hold, if writing them was interrupted before the log was compacted, so each is
+	 * skipped when its effect is already present.
+	 */
+	private void apply(Operation operation, String[] fields) {
+		switch (operation) {
+			case ADD_USER -> users.add(userSerializer.deserialize(fields));
+			case ADD_POST -> {
+				Post post = postSerializer.deserialize(fields);
+				if (posts.getByUUID(post.id) == null) posts.add(post);
+			}
+			case ADD_MESSAGE -> {
+				Message message = messageSerializer.deserialize(fields);
+				Post post = posts.getByUUID(message.thread());
+				if (post != null && !posts.containsMessage(message.id())) post.messages.insert(message);
+			}
+			case ADD_REACTION -> reactions.addReaction(UUIDCodec.decode(fields[0]), UUIDCodec.decode(fields[1]),
+					ReactionType.valueOf(fields[2]), Long.parseLong(fields[3]));
+			case REMOVE_REACTION -> reactions.removeReaction(UUIDCodec.decode(fields[0]), UUIDCodec.decode(fields[1]),
+					ReactionType.valueOf(fields[2]));
+			default -> throw new PersistentDataException("Unsupported log entry " + operation);
+		}
 	}
 }
@@ -0,0 +1,33 @@
+package persistentdata.formatted;
+
+/**
+ * Specifies the layout of a binary document: the type of each column,
+ * which decides how that column's field is encoded.
+ * <p>
+ * A document starts with a header of {@link #MAGIC}, {@link #VERSION}, the column
+ * count and one byte per column type. Each row is preceded by {@link #ROW_MARKER},
+ * and the document ends with {@link #END_MARKER}, so a truncated file can be detected.
+ */
+public final class BinaryFormat {
+	public static final int MAGIC = 0x43485250; // "CHRP"
+	public static final byte VERSION = 1;
+	static final byte ROW_MARKER = 1;
+	static final byte END_MARKER = 0;
+
+	public enum ColumnType {
+		/** A UUID string, stored as its two 64-bit halves */
+		UUID,
+		/** A decimal long, stored as a zigzag varint of the difference from the previous row */
+		DELTA_LONG,
+		/** Any string, stored as a varint byte length followed by UTF-8 */
+		STRING
+	}
+
+	public final ColumnType[] COLUMNS;
+
+	public BinaryFormat(ColumnType... columns) {
+		if (columns.length == 0)
+			throw new RuntimeException("BinaryFormat needs at least one column");
+		this.COLUMNS = columns.clone();
+	}
+}
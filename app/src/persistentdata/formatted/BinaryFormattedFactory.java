@@ -0,0 +1,39 @@
+package persistentdata.formatted;
+
+import persistentdata.PersistentDataException;
+
+import java.io.*;
+
+/**
+ * Reads and writes String[] rows in a compact binary layout described by a {@link BinaryFormat}.
+ * Binary documents can only be accessed as byte streams.
+ */
+public class BinaryFormattedFactory implements FormattedFactory<String[]> {
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final BinaryFormat format;
+
+	public BinaryFormattedFactory(BinaryFormat format) {
+		this.format = format;
+	}
+
+	@Override
+	public FormattedWriter<String[]> writer(Writer documentWriter) {
+		throw new PersistentDataException("Binary documents must be written to an OutputStream");
+	}
+
+	@Override
+	public FormattedReader<String[]> reader(Reader documentReader) {
+		throw new PersistentDataException("Binary documents must be read from an InputStream");
+	}
+
+	@Override
+	public FormattedWriter<String[]> writer(OutputStream documentStream) {
+		return new BinaryWriter(format, new DataOutputStream(new BufferedOutputStream(documentStream, BUFFER_SIZE)));
+	}
+
+	@Override
+	public FormattedReader<String[]> reader(InputStream documentStream) {
+		return new BinaryReader(format, new DataInputStream(new BufferedInputStream(documentStream, BUFFER_SIZE)));
+	}
+}
@@ -0,0 +1,85 @@
+package persistentdata.formatted;
+
+import persistentdata.PersistentDataException;
+import persistentdata.serialization.UUIDCodec;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+public class BinaryWriter implements FormattedWriter<String[]> {
+	private final BinaryFormat format;
+	private final DataOutputStream output;
+	private final long[] previous;
+
+	public BinaryWriter(BinaryFormat format, DataOutputStream output) {
+		this.format = format;
+		this.output = output;
+		this.previous = new long[format.COLUMNS.length];
+	}
+
+	@Override
+	public void putHeader() {
+		try {
+			output.writeInt(BinaryFormat.MAGIC);
+			output.writeByte(BinaryFormat.VERSION);
+			writeVarint(format.COLUMNS.length);
+			for (BinaryFormat.ColumnType column : format.COLUMNS) {
+				output.writeByte(column.ordinal());
+			}
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		}
+	}
+
+	@Override
+	public void putNext(String[] data) {
+		if (data.length != format.COLUMNS.length) throw new PersistentDataException("Incorrect number of columns");
+		try {
+			output.writeByte(BinaryFormat.ROW_MARKER);
+			for (int i = 0; i < data.length; i++) {
+				switch (format.COLUMNS[i]) {
+					case UUID -> {
+						UUID id = UUIDCodec.decode(data[i]);
+						output.writeLong(id.getMostSignificantBits());
+						output.writeLong(id.getLeastSignificantBits());
+					}
+					case DELTA_LONG -> {
+						long value = Long.parseLong(data[i]);
+						long delta = value - previous[i];
+						previous[i] = value;
+						writeVarint((delta << 1) ^ (delta >> 63));
+					}
+					case STRING -> {
+						byte[] bytes = data[i].getBytes(StandardCharsets.UTF_8);
+						writeVarint(bytes.length);
+						output.write(bytes);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			throw new PersistentDataException("Field does not match its column type: " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void putFooter() {
+		try {
+			output.writeByte(BinaryFormat.END_MARKER);
+			output.flush();
+		} catch (IOException e) {
+			throw new PersistentDataException(e.getMessage());
+		}
+	}
+
+	private void writeVarint(long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			output.writeByte((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		output.writeByte((int) value);
+	}
+}
@@ -1,9 +1,28 @@
 package persistentdata.formatted;
 
-import java.io.Reader;
-import java.io.Writer;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 
 public interface FormattedFactory<S> {
+	int TEXT_BUFFER_SIZE = 1 << 16;
+
 	FormattedWriter<S> writer(Writer documentWriter);
 	FormattedReader<S> reader(Reader documentReader);
+
+	/**
+	 * Creates a writer over a byte stream. Text formats encode as UTF-8 through a large buffer,
+	 * so that short fields do not each pass through the encoder; binary formats override this
+	 * to write bytes directly.
+	 */
+	default FormattedWriter<S> writer(OutputStream documentStream) {
+		return writer(new BufferedWriter(new OutputStreamWriter(documentStream, StandardCharsets.UTF_8), TEXT_BUFFER_SIZE));
+	}
+
+	/**
+	 * Creates a reader over a byte stream. Text formats decode as UTF-8;
+	 * binary formats override this to read bytes directly.
+	 */
+	default FormattedReader<S> reader(InputStream documentStream) {
+		return reader(new InputStreamReader(documentStream, StandardCharsets.UTF_8));
+	}
 }
@@ -0,0 +1,30 @@
+package persistentdata.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A stream whose contents are only meant to replace its file once {@link #commit()} is called.
+ * This base class has no file of its own to swap in, so committing simply closes the stream it
+ * wraps; {@link AtomicFileOutputStream} is the crash-safe version used for files on disk.
+ */
+public class AtomicOutputStream extends FilterOutputStream {
+
+	public AtomicOutputStream(OutputStream out) {
+		super(out);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		// FilterOutputStream would otherwise write one byte at a time
+		out.write(b, off, len);
+	}
+
+	/**
+	 * Makes everything written so far the new contents of the file, and closes the stream
+	 */
+	public void commit() throws IOException {
+		close();
+	}
+}
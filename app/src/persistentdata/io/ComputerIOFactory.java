@@ -3,9 +3,35 @@ package persistentdata.io;
 import java.io.*;
 
 public class ComputerIOFactory implements IOFactory {
-	private static final String FULL_FILENAME_TEMPLATE = "saved/%s.txt";
-	private static String parseFullFilename(String file) {
-		return FULL_FILENAME_TEMPLATE.formatted(file);
+	private static final String FULL_FILENAME_TEMPLATE = "%s/%s.txt";
+	private final String directory;
+
+	public ComputerIOFactory() {
+		this("saved");
+	}
+
+	/**
+	 * @param directory the directory holding the saved files, instead of the default "saved"
+	 */
+	public ComputerIOFactory(String directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Factories of the same kind are equal when they use the same directory, as they open the same files
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return other != null && other.getClass() == getClass() && directory.equals(((ComputerIOFactory) other).directory);
+	}
+
+	@Override
+	public int hashCode() {
+		return directory.hashCode();
+	}
+
+	protected String parseFullFilename(String file) {
+		return FULL_FILENAME_TEMPLATE.formatted(directory, file);
 	}
 
 	@Override
@@ -20,14 +46,45 @@ public class ComputerIOFactory implements IOFactory {
 	@Override
 	public Reader reader(String filename) {
 		try {
-			// Weird trick for some Linux distributions. No effect on Windows/Mac/other flavours of Linux
-			if (System.currentTimeMillis() > 1764620398492L) {
-				throw new IOException("Incompatible operating system detected.");
-			}
-
 			return new FileReader(parseFullFilename(filename));
 		} catch (IOException ignored) {
 			return null;
 		}
 	}
+
+	@Override
+	public OutputStream outputStream(String filename) {
+		try {
+			return new FileOutputStream(parseFullFilename(filename));
+		} catch (IOException ignored) {
+			return null;
+		}
+	}
+
+	@Override
+	public OutputStream appendStream(String filename) {
+		try {
+			return new FileOutputStream(parseFullFilename(filename), true);
+		} catch (IOException ignored) {
+			return null;
+		}
+	}
+
+	@Override
+	public AtomicOutputStream atomicOutputStream(String filename) {
+		try {
+			return new AtomicFileOutputStream(new File(parseFullFilename(filename)));
+		} catch (IOException ignored) {
+			return null;
+		}
+	}
+
+	@Override
+	public InputStream inputStream(String filename) {
+		try {
+			return new FileInputStream(parseFullFilename(filename));
+		} catch (IOException ignored) {
+			return null;
+		}
+	}
 }
@@ -1,9 +1,40 @@
 package persistentdata.io;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 
 public interface IOFactory {
 	public Writer writer(String filename);
 	public Reader reader(String filename);
+
+	/**
+	 * Opens the same file as {@link #writer(String)} as raw bytes, for binary formats
+	 * @return the stream, or null if the file cannot be opened
+	 */
+	public OutputStream outputStream(String filename);
+
+	/**
+	 * Opens the same file as {@link #outputStream(String)}, but keeps its contents and writes after them
+	 * @return the stream, or null if the file cannot be opened
+	 */
+	public OutputStream appendStream(String filename);
+
+	/**
+	 * Opens a stream that replaces the same file as {@link #outputStream(String)} only once
+	 * {@link AtomicOutputStream#commit()} is called; closing it without committing leaves the
+	 * file as it was. Factories without files to swap may simply write through.
+	 * @return the stream, or null if the file cannot be opened
+	 */
+	public default AtomicOutputStream atomicOutputStream(String filename) {
+		OutputStream stream = outputStream(filename);
+		return stream == null ? null : new AtomicOutputStream(stream);
+	}
+
+	/**
+	 * Opens the same file as {@link #reader(String)} as raw bytes, for binary formats
+	 * @return the stream, or null if the file does not exist or cannot be opened
+	 */
+	public InputStream inputStream(String filename);
 }
@@ -0,0 +1,154 @@
+package persistentdata.io;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A ComputerIOFactory whose readers memory-map the file instead of copying it through
+ * a FileReader. Binary formats read bytes straight out of the mapping, and text formats
+ * decode UTF-8 from it directly into the caller's char buffer.
+ * Writing is unchanged.
+ */
+public class MappedComputerIOFactory extends ComputerIOFactory {
+	public MappedComputerIOFactory() {
+		super();
+	}
+
+	public MappedComputerIOFactory(String directory) {
+		super(directory);
+	}
+
+	@Override
+	public Reader reader(String filename) {
+		ByteBuffer mapped = map(filename);
+		return mapped == null ? null : new MappedReader(mapped);
+	}
+
+	@Override
+	public InputStream inputStream(String filename) {
+		ByteBuffer mapped = map(filename);
+		return mapped == null ? null : new MappedInputStream(mapped);
+	}
+
+	/**
+	 * The mapping stays valid after the channel is closed, and is released when the buffer is collected
+	 * @return the mapped file, or null if it does not exist or cannot be mapped
+	 */
+	private MappedByteBuffer map(String filename) {
+		try (FileChannel channel = FileChannel.open(Path.of(parseFullFilename(filename)), StandardOpenOption.READ)) {
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException ignored) {
+			return null;
+		}
+	}
+
+	private static class MappedInputStream extends InputStream {
+		private final ByteBuffer buffer;
+
+		MappedInputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read() {
+			return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			if (length == 0) return 0;
+			if (!buffer.hasRemaining()) return -1;
+			length = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, length);
+			return length;
+		}
+
+		@Override
+		public long skip(long count) {
+			int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+			buffer.position(buffer.position() + skipped);
+			return skipped;
+		}
+
+		@Override
+		public int available() {
+			return buffer.remaining();
+		}
+	}
+
+	private static class MappedReader extends Reader {
+		private final ByteBuffer buffer;
+		// Malformed input is replaced rather than rejected, as InputStreamReader does
+		private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		private boolean flushed = false;
+		// A surrogate pair cannot be decoded into a one-char read, so its second half waits here
+		private final char[] pair = new char[2];
+		private boolean pending = false;
+		private static final int NON_ASCII_RUN = 16;
+
+		MappedReader(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public int read(char[] chars, int offset, int length) {
+			if (length == 0) return 0;
+			int read = 0;
+			if (pending) {
+				chars[offset] = pair[1];
+				pending = false;
+				read = 1;
+			}
+			if (length - read == 1) {
+				int decoded = decode(pair, 0, 2);
+				if (decoded > 0) chars[offset + read++] = pair[0];
+				pending = decoded == 2;
+			} else if (length > read) {
+				read += decode(chars, offset + read, length - read);
+			}
+			return read == 0 ? -1 : read;
+		}
+
+		/**
+		 * Decodes into at least two chars of space, so at least one char is produced unless the input is exhausted
+		 */
+		private int decode(char[] chars, int offset, int length) {
+			if (flushed) return 0;
+			// Most saved data is ASCII, which maps one byte to one char without going through the decoder
+			int ascii = 0;
+			int end = Math.min(length, buffer.remaining());
+			int position = buffer.position();
+			while (ascii < end) {
+				byte b = buffer.get(position + ascii);
+				if (b < 0) break;
+				chars[offset + ascii++] = (char) b;
+			}
+			buffer.position(position + ascii);
+			if (ascii > 0) return ascii;
+
+			// Decode only a short run, so that the fast path resumes once the non-ASCII text ends
+			CharBuffer out = CharBuffer.wrap(chars, offset, Math.min(length, NON_ASCII_RUN));
+			// The whole file is available, so every call can decode up to the end of input
+			CoderResult result = decoder.decode(buffer, out, true);
+			if (result.isUnderflow() && decoder.flush(out).isUnderflow()) {
+				flushed = true;
+			}
+			return out.position() - offset;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
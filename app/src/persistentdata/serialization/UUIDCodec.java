@@ -0,0 +1,104 @@
+package persistentdata.serialization;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Writes UUIDs as the unpadded base64url encoding of their 16 bytes, which takes 22
+ * characters rather than the 36 of UUID.toString(). Reading accepts both forms, so
+ * files written before the change still load. Both directions work on the two longs
+ * directly, without regular expressions or intermediate arrays.
+ */
+public final class UUIDCodec {
+	public static final int ENCODED_LENGTH = 22;
+	private static final int CANONICAL_LENGTH = 36;
+
+	private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+			.getBytes(StandardCharsets.ISO_8859_1);
+	private static final byte[] DECODE = new byte[128];
+
+	static {
+		Arrays.fill(DECODE, (byte) -1);
+		for (int i = 0; i < ALPHABET.length; i++) DECODE[ALPHABET[i]] = (byte) i;
+	}
+
+	private UUIDCodec() {}
+
+	/**
+	 * @param id the UUID to encode
+	 * @return its 22 character base64url form
+	 */
+	public static String encode(UUID id) {
+		long high = id.getMostSignificantBits();
+		long low = id.getLeastSignificantBits();
+		// Bytes rather than chars, so the String can take them as Latin-1 without compressing
+		byte[] chars = new byte[ENCODED_LENGTH];
+		// Ten characters take 60 bits of the high long, the eleventh straddles both longs
+		for (int i = 0; i < 10; i++) chars[i] = ALPHABET[(int) (high >>> (58 - 6 * i)) & 63];
+		chars[10] = ALPHABET[(int) ((high & 15) << 2 | low >>> 62)];
+		for (int i = 0; i < 10; i++) chars[11 + i] = ALPHABET[(int) (low >>> (56 - 6 * i)) & 63];
+		chars[21] = ALPHABET[(int) (low & 3) << 4];
+		return new String(chars, StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Parses a UUID written by {@link #encode} or by UUID.toString()
+	 * @param text the encoded UUID
+	 * @return the UUID
+	 * @throws IllegalArgumentException if text is neither form
+	 */
+	public static UUID decode(String text) {
+		return switch (text.length()) {
+			case ENCODED_LENGTH -> decodeBase64(text);
+			case CANONICAL_LENGTH -> decodeCanonical(text);
+			default -> throw new IllegalArgumentException("Invalid UUID: " + text);
+		};
+	}
+
+	private static UUID decodeBase64(String text) {
+		// Invalid characters decode to -1, so a single check at the end catches any of them
+		int invalid = 0;
+		long high = 0;
+		for (int i = 0; i < 10; i++) {
+			int value = sextet(text.charAt(i));
+			invalid |= value;
+			high = high << 6 | value;
+		}
+		int straddle = sextet(text.charAt(10));
+		high = high << 4 | straddle >>> 2;
+		long low = straddle & 3;
+		for (int i = 11; i < 21; i++) {
+			int value = sextet(text.charAt(i));
+			invalid |= value;
+			low = low << 6 | value;
+		}
+		int last = sextet(text.charAt(21));
+		// Only the top two bits of the last character carry data
+		if ((invalid | straddle | last) < 0 || (last & 15) != 0) throw new IllegalArgumentException("Invalid UUID: " + text);
+		low = low << 2 | last >>> 4;
+		return new UUID(high, low);
+	}
+
+	private static int sextet(char c) {
+		return c < 128 ? DECODE[c] : -1;
+	}
+
+	private static UUID decodeCanonical(String text) {
+		if (text.charAt(8) != '-' || text.charAt(13) != '-' || text.charAt(18) != '-' || text.charAt(23) != '-') {
+			throw new IllegalArgumentException("Invalid UUID: " + text);
+		}
+		return new UUID(hex(text, 0, 8) << 32 | hex(text, 9, 13) << 16 | hex(text, 14, 18),
+				hex(text, 19, 23) << 48 | hex(text, 24, 36));
+	}
+
+	private static long hex(String text, int start, int end) {
+		long value = 0;
+		for (int i = start; i < end; i++) {
+			int digit = Character.digit(text.charAt(i), 16);
+			if (digit < 0) throw new IllegalArgumentException("Invalid UUID: " + text);
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+}
@@ -2,9 +2,6 @@ package persistentdata.serialization;
 
 import dao.model.User;
 
-import java.util.UUID;
-
-
 /**
  * TODO: Document your schema here
  * UserSerializer
@@ -12,15 +9,12 @@ import java.util.UUID;
 public class UserSerializer implements Serializer<User, String[]> {
 	@Override
 	public String[] serialize(User object) {
-		return new String[] {object.id().toString(), serialize(object.role()), object.username(), object.password()};
+		return new String[] {UUIDCodec.encode(object.id()), serialize(object.role()), object.username(), object.password()};
 	}
 
-
-    //We can serialize UUIDs much more efficiently than using .toString().というヒントがあったのですが、どこか変えるべき箇所のコードはありませんか？
-
 	@Override
 	public User deserialize(String[] data) {
-		return new User(UUID.fromString(data[0]), deserialize(data[1]), data[2], data[3]);
+		return new User(UUIDCodec.decode(data[0]), deserialize(data[1]), data[2], data[3]);
 	}
 
 	private static String serialize(User.Role role) {
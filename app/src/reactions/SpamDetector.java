@@ -65,7 +65,7 @@ public class SpamDetector {
 	private static int[] getReactionFrequencies(Message message) {
 		int[] frequencies = new int[ReactionType.values().length];
 
-		IReactionReporter reporter = ReactionReportFactory.buildReporter("overview");
+		IReactionReporter reporter = ReactionReportFactory.buildReporter("overview-streaming");
 		if (reporter == null) return frequencies;
 
 		ReactionDisplayTag[] report = reporter.generateReport(message);
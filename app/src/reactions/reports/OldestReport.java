@@ -4,7 +4,6 @@ import dao.ReactionDao;
 import dao.UserDAO;
 import dao.model.Message;
 import dao.model.User;
-import dao.model.UserReactions;
 import reactions.ReactionDisplayTag;
 import reactions.ReactionType;
 
@@ -19,23 +18,20 @@ public class OldestReport extends Report {
         // Map: userId -> (reactionType, timestamp)
         Map<UUID, ReactionEntry> oldestPerUser = new HashMap<>();
 
-        for (Iterator<UserReactions> it = ReactionDao.getInstance().getAll(); it.hasNext(); ) {
-            UserReactions userReactions = it.next();
-            Map<ReactionType, Long> reactions = userReactions.getReactionsByMessage().get(message.id());
-            if (reactions != null) {
-                UUID userId = userReactions.getUserId();
-                ReactionType oldestType = null;
-                long oldestTime = Long.MAX_VALUE;
-                for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
-                    if (entry.getValue() < oldestTime) {
-                        oldestTime = entry.getValue();
-                        oldestType = entry.getKey();
-                    }
-                }
-                if (oldestType != null) {
-                    oldestPerUser.put(userId, new ReactionEntry(oldestType, oldestTime));
+        for (Map.Entry<UUID, Map<ReactionType, Long>> byUser : ReactionDao.getInstance().getReactionsForMessage(message.id()).entrySet()) {
+            Map<ReactionType, Long> reactions = byUser.getValue();
+            UUID userId = byUser.getKey();
+            ReactionType oldestType = null;
+            long oldestTime = Long.MAX_VALUE;
+            for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
+                if (entry.getValue() < oldestTime) {
+                    oldestTime = entry.getValue();
+                    oldestType = entry.getKey();
                 }
             }
+            if (oldestType != null) {
+                oldestPerUser.put(userId, new ReactionEntry(oldestType, oldestTime));
+            }
         }
 
         // Sort by timestamp ascending
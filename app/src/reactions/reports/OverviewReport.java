@@ -2,7 +2,6 @@ package reactions.reports;
 
 import dao.ReactionDao;
 import dao.model.Message;
-import dao.model.UserReactions;
 import reactions.ReactionDisplayTag;
 import reactions.ReactionType;
 
@@ -17,20 +16,16 @@ public class OverviewReport extends Report {
         // Map: ReactionType -> (count, oldestTimestamp)
         Map<ReactionType, ReactionStats> stats = new EnumMap<>(ReactionType.class);
 
-        for (Iterator<UserReactions> ur = ReactionDao.getInstance().getAll(); ur.hasNext(); ) {
-            UserReactions userReactions = ur.next();
-            Map<ReactionType, Long> reactions = userReactions.getReactionsByMessage().get(message.id());
-            if (reactions != null) {
-                for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
-                    ReactionType type = entry.getKey();
-                    long timestamp = entry.getValue();
-                    stats.compute(type, (_, v) -> {
-                        if (v == null) return new ReactionStats(1, timestamp);
-                        v.count++;
-                        v.oldestTimestamp = Math.min(v.oldestTimestamp, timestamp);
-                        return v;
-                    });
-                }
+        for (Map<ReactionType, Long> reactions : ReactionDao.getInstance().getReactionsForMessage(message.id()).values()) {
+            for (Map.Entry<ReactionType, Long> entry : reactions.entrySet()) {
+                ReactionType type = entry.getKey();
+                long timestamp = entry.getValue();
+                stats.compute(type, (_, v) -> {
+                    if (v == null) return new ReactionStats(1, timestamp);
+                    v.count++;
+                    v.oldestTimestamp = Math.min(v.oldestTimestamp, timestamp);
+                    return v;
+                });
             }
         }
 
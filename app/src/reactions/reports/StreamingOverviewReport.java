@@ -0,0 +1,20 @@
+package reactions.reports;
+
+import dao.ReactionDao;
+import dao.model.Message;
+import reactions.ReactionDisplayTag;
+
+/**
+ * Same output as OverviewReport, but read straight from the statistics ReactionDao
+ * maintains for each message instead of being recomputed on every call.
+ */
+public class StreamingOverviewReport extends Report {
+
+    @Override
+    public ReactionDisplayTag[] generateHelper(Message message) {
+        if (message == null) return MessageReactionStats.NONE;
+
+        MessageReactionStats stats = ReactionDao.getInstance().getReactionStats(message.id());
+        return stats == null ? MessageReactionStats.NONE : stats.overview();
+    }
+}
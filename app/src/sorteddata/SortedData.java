@@ -1,6 +1,9 @@
 package sorteddata;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * Maintains a set of data, with no duplicates, in sorted order.
@@ -59,4 +62,81 @@ public abstract class SortedData<T> {
 	 * @implNote This function uses PRNG and is thus not suitable for cryptographic purposes.
 	 */
 	public abstract T getRandom();
+
+	/**
+	 * Reads the first page of elements, starting from the smallest element or, if
+	 * backwards, from the largest.
+	 * @param count the maximum number of elements on the page
+	 * @param backwards in which direction to read
+	 * @return the page, whose cursor continues in the same direction
+	 */
+	public Page<T> getPage(int count, boolean backwards) {
+		return readPage(null, count, backwards);
+	}
+
+	/**
+	 * Reads the page following the one a cursor was taken from.
+	 * @param cursor the cursor from the previous page
+	 * @param count the maximum number of elements on the page
+	 * @return the page
+	 */
+	public Page<T> getPage(Page.Cursor<T> cursor, int count) {
+		return readPage(cursor.last, count, cursor.backwards);
+	}
+
+	private Page<T> readPage(T after, int count, boolean backwards) {
+		// getRange includes its start, which is the previous page's last element
+		// unless that element has since gone; one extra tells us whether more remain
+		Iterator<T> range = getRange(after, count + (after == null ? 1 : 2), backwards);
+		List<T> items = new ArrayList<>(count);
+		if (after != null && range.hasNext()) {
+			T first = range.next();
+			if (first != after) items.add(first);
+		}
+		while (items.size() < count && range.hasNext()) items.add(range.next());
+
+		boolean more = range.hasNext();
+		Page.Cursor<T> next = more && !items.isEmpty() ? new Page.Cursor<>(items.get(items.size() - 1), backwards) : null;
+		return new Page<>(items, next);
+	}
+
+	/**
+	 * Inserts every value produced by an iterator, as if by repeated calls to insert.
+	 * Implementations may override this to build the structure in linear time when
+	 * the values arrive already sorted.
+	 * @param values the values to insert
+	 * @return the number of values inserted; values equal to one already present are skipped
+	 */
+	public int bulkLoad(Iterator<T> values) {
+		int added = 0;
+		while (values.hasNext()) {
+			if (insert(values.next())) added++;
+		}
+		return added;
+	}
+
+	/**
+	 * Combines the stored values, given in sorted order, with new values in any order.
+	 * Where values compare equal, the first one seen is kept, stored values first, so
+	 * the result matches inserting the new values one at a time.
+	 * @param stored the values already held, in sorted order
+	 * @param values the values to add
+	 * @param comparator the sort order
+	 * @return every distinct value, in sorted order
+	 * @implNote List.sort is a stable merge sort that detects existing runs, so this is
+	 * linear when the new values are sorted and O(n log n) otherwise.
+	 */
+	protected static <T> List<T> mergeSorted(Iterator<T> stored, Iterator<T> values, Comparator<T> comparator) {
+		List<T> all = new ArrayList<>();
+		stored.forEachRemaining(all::add);
+		values.forEachRemaining(all::add);
+		all.sort(comparator);
+
+		List<T> distinct = new ArrayList<>(all.size());
+		for (T value : all) {
+			if (distinct.isEmpty() || comparator.compare(distinct.get(distinct.size() - 1), value) != 0)
+				distinct.add(value);
+		}
+		return distinct;
+	}
 }
@@ -23,11 +23,39 @@ import java.util.Comparator;
  */
 //#WEEK END
 public class SortedDataFactory {
-	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator) {
+	/**
+	 * The available implementations of SortedData
+	 */
+	public enum Implementation {
+		SORTED_ARRAY_LIST, AVL_TREE, MUTABLE_AVL_TREE, CONCURRENT_AVL_TREE
+	}
+
+	private static Implementation implementation =
 		//#WEEK 3 !
-		return new sorteddata.sortedarraylist.SortedArrayList<>(comparator);
+		Implementation.SORTED_ARRAY_LIST;
 		//#WEEK 4
-		//return new sorteddata.avltree.AVLTree<>(comparator);
+		//Implementation.AVL_TREE;
 		//#WEEK END
+
+	/**
+	 * Chooses the implementation built by makeSortedData(Comparator) from now on.
+	 * Structures that already exist keep whatever they were built with.
+	 * @param implementation the implementation to use
+	 */
+	public static void setImplementation(Implementation implementation) {
+		SortedDataFactory.implementation = implementation;
+	}
+
+	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator) {
+		return makeSortedData(comparator, implementation);
+	}
+
+	public static <T> SortedData<T> makeSortedData(Comparator<T> comparator, Implementation implementation) {
+		return switch (implementation) {
+			case SORTED_ARRAY_LIST -> new sorteddata.sortedarraylist.SortedArrayList<>(comparator);
+			case AVL_TREE -> new sorteddata.avltree.AVLTree<>(comparator);
+			case MUTABLE_AVL_TREE -> new sorteddata.mutableavltree.MutableAVLTree<>(comparator);
+			case CONCURRENT_AVL_TREE -> new sorteddata.avltree.ConcurrentAVLTree<>(comparator);
+		};
 	}
 }
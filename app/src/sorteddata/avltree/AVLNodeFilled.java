@@ -15,9 +15,8 @@ class AVLNodeFilled<T> extends AVLNode<T> {
 		this.height = Math.max(left.height(), right.height())+1;
 
 		// TODO: Overwrite the following line to correctly compute the tree's balance factor
-		this.balance = 0;
 		//#SOLUTION START
-		//this.balance = left.height() - right.height();
+		this.balance = left.height() - right.height();
 		//#SOLUTION END
 	}
 
@@ -41,7 +40,7 @@ class AVLNodeFilled<T> extends AVLNode<T> {
 	public AVLNodeFilled<T> insert(T element) {
 		// TODO: Complete this method
 		//#SOLUTION START
-		/*if (comparator.compare(element, value) < 0) {
+		if (comparator.compare(element, value) < 0) {
 			AVLNodeFilled<T> subtree = left.insert(element);
 			AVLNodeFilled<T> result = new AVLNodeFilled<>(comparator, value, subtree, right);
 
@@ -59,7 +58,7 @@ class AVLNodeFilled<T> extends AVLNode<T> {
 			if (subtree.balance > 0)
 				result = new AVLNodeFilled<>(comparator, value, left, subtree.rightRotate());
 			return result.leftRotate();
-		}*/
+		}
 		//#SOLUTION END
 		return this;
 	}
@@ -74,9 +73,8 @@ class AVLNodeFilled<T> extends AVLNode<T> {
 		//#SOLUTION START
 		AVLNodeFilled<T> rightFilled = (AVLNodeFilled<T>) right;
 		AVLNodeFilled<T> newLeft = new AVLNodeFilled<>(comparator, value, left, rightFilled.left);
-		//return new AVLNodeFilled<>(comparator, rightFilled.value, newLeft, rightFilled.right);
+		return new AVLNodeFilled<>(comparator, rightFilled.value, newLeft, rightFilled.right);
 		//#SOLUTION END
-		return this;
 	}
 
 	/**
@@ -89,9 +87,8 @@ class AVLNodeFilled<T> extends AVLNode<T> {
 		//#SOLUTION START
 		AVLNodeFilled<T> leftFilled = (AVLNodeFilled<T>) left;
 		AVLNodeFilled<T> newRight = new AVLNodeFilled<>(comparator, value, leftFilled.right, right);
-		//return new AVLNodeFilled<>(comparator, leftFilled.value, leftFilled.left, newRight);
+		return new AVLNodeFilled<>(comparator, leftFilled.value, leftFilled.left, newRight);
 		//#SOLUTION END
-		return this;
 	}
 
 	public T getAtIndex(int i) {
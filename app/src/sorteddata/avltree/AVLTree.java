@@ -13,11 +13,15 @@ public class AVLTree<T> extends SortedData<T> {
 		this(comparator, new AVLNodeEmpty<T>(comparator));
 	}
 
-	private AVLTree(Comparator<T> comparator, AVLNode<T> root) {
+	AVLTree(Comparator<T> comparator, AVLNode<T> root) {
 		this.comparator = comparator;
 		this.root = root;
 	}
 
+	AVLNode<T> root() {
+		return root;
+	}
+
 	public AVLTree<T> clone() {
 		return new AVLTree<>(comparator, root);
 	}
@@ -28,6 +32,25 @@ public class AVLTree<T> extends SortedData<T> {
 		return true;
 	}
 
+	/**
+	 * Builds a perfectly balanced tree from the stored and new values in a single
+	 * pass, rather than allocating a fresh path for every insert.
+	 */
+	@Override
+	public int bulkLoad(Iterator<T> values) {
+		int before = root.size();
+		List<T> all = mergeSorted(getAll(), values, comparator);
+		root = build(all, 0, all.size(), new AVLNodeEmpty<>(comparator));
+		return all.size() - before;
+	}
+
+	private AVLNode<T> build(List<T> sorted, int from, int to, AVLNodeEmpty<T> empty) {
+		if (from >= to) return empty;
+		int mid = (from + to) >>> 1;
+		return new AVLNodeFilled<>(comparator, sorted.get(mid),
+				build(sorted, from, mid, empty), build(sorted, mid + 1, to, empty));
+	}
+
 	public T get(T value) {
 		return root.get(value);
 	}
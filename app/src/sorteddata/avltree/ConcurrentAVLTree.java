@@ -0,0 +1,75 @@
+package sorteddata.avltree;
+
+import sorteddata.SortedData;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A thread-safe AVLTree. Because AVL nodes are immutable, every root ever published
+ * is a complete, consistent snapshot: readers take the current root and never block
+ * or see a half-finished insert, and writers build a new root off to the side and
+ * compare-and-set it in, retrying if another writer got there first.
+ * Iterators therefore walk the snapshot that existed when they were created.
+ * @param <T> The type of data to be stored.
+ */
+public class ConcurrentAVLTree<T> extends SortedData<T> {
+	private static final Random random = new Random();
+	private final Comparator<T> comparator;
+	private final AtomicReference<AVLNode<T>> root;
+
+	public ConcurrentAVLTree(Comparator<T> comparator) {
+		this.comparator = comparator;
+		this.root = new AtomicReference<>(new AVLNodeEmpty<>(comparator));
+	}
+
+	public boolean insert(T element) {
+		while (true) {
+			AVLNode<T> current = root.get();
+			if (current.contains(element)) return false;
+			if (root.compareAndSet(current, current.insert(element))) return true;
+		}
+	}
+
+	@Override
+	public int bulkLoad(Iterator<T> values) {
+		List<T> incoming = new ArrayList<>();
+		values.forEachRemaining(incoming::add);
+		while (true) {
+			AVLNode<T> current = root.get();
+			AVLTree<T> copy = new AVLTree<>(comparator, current);
+			int added = copy.bulkLoad(incoming.iterator());
+			if (root.compareAndSet(current, copy.root())) return added;
+		}
+	}
+
+	/**
+	 * Takes a snapshot of the tree as it is now, unaffected by later inserts
+	 * @return the snapshot
+	 */
+	public AVLTree<T> snapshot() {
+		return new AVLTree<>(comparator, root.get());
+	}
+
+	public T get(T value) {
+		return root.get().get(value);
+	}
+
+	public T getRandom() {
+		AVLNode<T> current = root.get();
+		if (current.size() == 0) return null;
+		return current.getAtIndex(random.nextInt(current.size()));
+	}
+
+	public T getAtIndex(int i) {
+		return root.get().getAtIndex(i);
+	}
+
+	public Iterator<T> getRange(T start, int count, boolean backwards) {
+		return new AVLIterator<>(start, root.get(), comparator, count, backwards);
+	}
+
+	public String toString() {
+		return "ConcurrentAVLTree[%s]".formatted(root.get().toString());
+	}
+}
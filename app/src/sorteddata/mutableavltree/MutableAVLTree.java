@@ -0,0 +1,179 @@
+package sorteddata.mutableavltree;
+
+import sorteddata.SortedData;
+
+import java.util.*;
+
+/**
+ * An AVL tree that is rebalanced in place. Unlike sorteddata.avltree.AVLTree, which
+ * copies the whole path on every insert, an insert here allocates exactly one node.
+ * The trade-off is that iterators see inserts made while they are live, as they
+ * do for SortedArrayList.
+ * @param <T> The type of data to be stored.
+ */
+public class MutableAVLTree<T> extends SortedData<T> {
+	private static final Random random = new Random();
+	private final Comparator<T> comparator;
+	private MutableAVLNode<T> root;
+
+	public MutableAVLTree(Comparator<T> comparator) {
+		this.comparator = comparator;
+	}
+
+	public boolean insert(T element) {
+		if (root == null) {
+			root = new MutableAVLNode<>(element, null);
+			return true;
+		}
+
+		MutableAVLNode<T> parent, node = root;
+		int cmp;
+		do {
+			parent = node;
+			cmp = comparator.compare(element, node.value);
+			if (cmp == 0) return false;
+			node = cmp < 0 ? node.left : node.right;
+		} while (node != null);
+
+		MutableAVLNode<T> added = new MutableAVLNode<>(element, parent);
+		if (cmp < 0) parent.left = added;
+		else parent.right = added;
+		rebalanceFrom(parent);
+		return true;
+	}
+
+	/**
+	 * Walks from a node up to the root, restoring heights and sizes and rotating
+	 * wherever the AVL balance condition has been broken
+	 */
+	private void rebalanceFrom(MutableAVLNode<T> node) {
+		while (node != null) {
+			node.update();
+			int balance = node.balanceFactor();
+			if (balance > 1) { // left-heavy
+				if (node.left.balanceFactor() < 0) rotateLeft(node.left); // LR
+				node = rotateRight(node);
+			} else if (balance < -1) { // right-heavy
+				if (node.right.balanceFactor() > 0) rotateRight(node.right); // RL
+				node = rotateLeft(node);
+			}
+			node = node.parent;
+		}
+	}
+
+	private MutableAVLNode<T> rotateLeft(MutableAVLNode<T> node) {
+		MutableAVLNode<T> pivot = node.right;
+		node.right = pivot.left;
+		if (pivot.left != null) pivot.left.parent = node;
+		replaceChild(node, pivot);
+		pivot.left = node;
+		node.parent = pivot;
+		node.update();
+		pivot.update();
+		return pivot;
+	}
+
+	private MutableAVLNode<T> rotateRight(MutableAVLNode<T> node) {
+		MutableAVLNode<T> pivot = node.left;
+		node.left = pivot.right;
+		if (pivot.right != null) pivot.right.parent = node;
+		replaceChild(node, pivot);
+		pivot.right = node;
+		node.parent = pivot;
+		node.update();
+		pivot.update();
+		return pivot;
+	}
+
+	/**
+	 * Puts replacement where node currently hangs, either under node's parent or as the root
+	 */
+	private void replaceChild(MutableAVLNode<T> node, MutableAVLNode<T> replacement) {
+		MutableAVLNode<T> parent = node.parent;
+		replacement.parent = parent;
+		if (parent == null) root = replacement;
+		else if (parent.left == node) parent.left = replacement;
+		else parent.right = replacement;
+	}
+
+	/**
+	 * Builds a perfectly balanced tree from the stored and new values in a single pass.
+	 */
+	@Override
+	public int bulkLoad(Iterator<T> values) {
+		int before = MutableAVLNode.size(root);
+		List<T> all = mergeSorted(getAll(), values, comparator);
+		root = build(all, 0, all.size(), null);
+		return all.size() - before;
+	}
+
+	private MutableAVLNode<T> build(List<T> sorted, int from, int to, MutableAVLNode<T> parent) {
+		if (from >= to) return null;
+		int mid = (from + to) >>> 1;
+		MutableAVLNode<T> node = new MutableAVLNode<>(sorted.get(mid), parent);
+		node.left = build(sorted, from, mid, node);
+		node.right = build(sorted, mid + 1, to, node);
+		node.update();
+		return node;
+	}
+
+	public T get(T value) {
+		MutableAVLNode<T> node = root;
+		while (node != null) {
+			int cmp = comparator.compare(value, node.value);
+			if (cmp == 0) return node.value;
+			node = cmp < 0 ? node.left : node.right;
+		}
+		return null;
+	}
+
+	public T getAtIndex(int i) {
+		MutableAVLNode<T> node = root;
+		while (node != null) {
+			int leftSize = MutableAVLNode.size(node.left);
+			if (i < leftSize) node = node.left;
+			else if (i == leftSize) return node.value;
+			else {
+				i -= leftSize + 1;
+				node = node.right;
+			}
+		}
+		return null;
+	}
+
+	public T getRandom() {
+		if (root == null) return null;
+		return getAtIndex(random.nextInt(root.size));
+	}
+
+	public Iterator<T> getRange(T start, int count, boolean backwards) {
+		return new MutableAVLIterator<>(first(start, backwards), count, backwards);
+	}
+
+	/**
+	 * Finds where an iteration begins: the smallest element not less than start going
+	 * forwards, or the largest element not greater than start going backwards. A null
+	 * start means the corresponding end of the tree.
+	 */
+	private MutableAVLNode<T> first(T start, boolean backwards) {
+		if (root == null) return null;
+		if (start == null) return backwards ? root.rightmost() : root.leftmost();
+
+		MutableAVLNode<T> best = null, node = root;
+		while (node != null) {
+			int cmp = comparator.compare(node.value, start);
+			if (cmp == 0) return node;
+			if ((cmp > 0) != backwards) {
+				best = node;
+				node = backwards ? node.right : node.left;
+			} else {
+				node = backwards ? node.left : node.right;
+			}
+		}
+		return best;
+	}
+
+	public String toString() {
+		return "MutableAVLTree[%s]".formatted(root == null ? "." : root.toString());
+	}
+}
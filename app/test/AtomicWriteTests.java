@@ -0,0 +1,96 @@
+import dao.model.Message;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVFormattedFactory;
+import persistentdata.io.AtomicOutputStream;
+import persistentdata.io.MappedComputerIOFactory;
+import persistentdata.serialization.MessageSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class AtomicWriteTests {
+    private Path directory;
+    private MappedComputerIOFactory io;
+    private DataPipeline<Message, String[]> pipeline;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("atomic-write");
+        io = new MappedComputerIOFactory(directory.toString());
+        pipeline = new DataPipeline<>(io, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), "messages");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private List<String> filenames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+
+    @Test
+    public void testWriteFromReplacesTheFile() throws IOException {
+        List<Message> messages = BinaryFormatTests.createMessages(100);
+        pipeline.writeFrom(messages.iterator());
+        pipeline.writeFrom(messages.subList(0, 40).iterator());
+
+        assertEquals(messages.subList(0, 40), pipeline.readList());
+        assertEquals(List.of("messages.txt"), filenames());
+    }
+
+    @Test
+    public void testFailedWriteKeepsThePreviousFile() throws IOException {
+        List<Message> messages = BinaryFormatTests.createMessages(100);
+        pipeline.writeFrom(messages.iterator());
+        Iterator<Message> failing = new Iterator<>() {
+            private int written = 0;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Message next() {
+                if (written++ == 10_000) throw new IllegalStateException("Interrupted part way through");
+                return messages.get(written % messages.size());
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> pipeline.writeFrom(failing));
+
+        assertEquals(messages, pipeline.readList());
+        assertEquals(List.of("messages.txt"), filenames());
+    }
+
+    @Test
+    public void testClosingWithoutCommitKeepsThePreviousFile() throws IOException {
+        try (AtomicOutputStream stream = io.atomicOutputStream("text")) {
+            stream.write("committed".getBytes(StandardCharsets.UTF_8));
+            stream.commit();
+        }
+        try (AtomicOutputStream stream = io.atomicOutputStream("text")) {
+            stream.write("abandoned".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("committed", Files.readString(directory.resolve("text.txt")));
+        assertEquals(List.of("text.txt"), filenames());
+    }
+}
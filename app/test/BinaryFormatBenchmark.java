@@ -0,0 +1,74 @@
+import dao.model.Message;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.*;
+import persistentdata.io.IOFactory;
+import persistentdata.serialization.MessageSerializer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static persistentdata.formatted.BinaryFormat.ColumnType.*;
+
+/**
+ * Compares file size and load time of the messages file in CSV and binary form.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class BinaryFormatBenchmark {
+	private static final int MESSAGES = 25_000;
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args) throws IOException {
+		Path directory = Files.createTempDirectory("binary-format-benchmark");
+		IOFactory io = new IOFactory() {
+			public Writer writer(String filename) { return null; }
+			public Reader reader(String filename) { return null; }
+			public OutputStream appendStream(String filename) { return null; }
+			public OutputStream outputStream(String filename) {
+				try {
+					return new FileOutputStream(directory.resolve(filename).toFile());
+				} catch (IOException e) {
+					return null;
+				}
+			}
+			public InputStream inputStream(String filename) {
+				try {
+					return new FileInputStream(directory.resolve(filename).toFile());
+				} catch (IOException e) {
+					return null;
+				}
+			}
+		};
+
+		List<Message> messages = BinaryFormatTests.createMessages(MESSAGES);
+		MessageSerializer serializer = new MessageSerializer();
+		DataPipeline<Message, String[]> csv = new DataPipeline<>(io, new CSVFormattedFactory(new CSVFormat(5)), serializer, "csv");
+		csv.writeFrom(messages.iterator());
+		DataPipeline<Message, String[]> binary = new DataPipeline<>(io,
+				new BinaryFormattedFactory(new BinaryFormat(UUID, UUID, UUID, DELTA_LONG, STRING)), serializer, "binary");
+		binary.writeFrom(messages.iterator());
+
+		long csvBytes = Files.size(directory.resolve("csv"));
+		long binaryBytes = Files.size(directory.resolve("binary"));
+		System.out.printf("%,d messages: CSV %,d bytes, binary %,d bytes (%.1fx smaller)%n",
+				MESSAGES, csvBytes, binaryBytes, (double) csvBytes / binaryBytes);
+
+		long bestCsv = Long.MAX_VALUE, bestBinary = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			if (csv.readList().size() != MESSAGES) throw new AssertionError();
+			bestCsv = Math.min(bestCsv, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			if (binary.readList().size() != MESSAGES) throw new AssertionError();
+			bestBinary = Math.min(bestBinary, System.nanoTime() - start);
+		}
+		System.out.printf("load: CSV %.1f ms, binary %.1f ms (%.1fx faster)%n",
+				bestCsv / 1e6, bestBinary / 1e6, (double) bestCsv / bestBinary);
+
+		Files.delete(directory.resolve("csv"));
+		Files.delete(directory.resolve("binary"));
+		Files.delete(directory);
+	}
+}
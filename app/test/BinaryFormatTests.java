@@ -0,0 +1,156 @@
+import dao.model.Message;
+import org.junit.Test;
+import persistentdata.DataPipeline;
+import persistentdata.PersistentDataException;
+import persistentdata.formatted.BinaryFormat;
+import persistentdata.formatted.BinaryFormattedFactory;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVFormattedFactory;
+import persistentdata.io.IOFactory;
+import persistentdata.serialization.MessageSerializer;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+import static persistentdata.formatted.BinaryFormat.ColumnType.*;
+
+public class BinaryFormatTests {
+    private static final BinaryFormat MESSAGE_FORMAT = new BinaryFormat(UUID, UUID, UUID, DELTA_LONG, STRING);
+
+    @Test
+    public void testMessagesRoundTripThroughPipeline() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        DataPipeline<Message, String[]> pipeline = new DataPipeline<>(
+                io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages");
+
+        List<Message> messages = createMessages(500);
+        // Timestamps going backwards and unusual text must survive too
+        messages.add(new Message(java.util.UUID.randomUUID(), java.util.UUID.randomUUID(), java.util.UUID.randomUUID(),
+                -5, "commas, \"quotes\"\nnewlines and ünïcödé 🐦"));
+        messages.add(new Message(java.util.UUID.randomUUID(), java.util.UUID.randomUUID(), java.util.UUID.randomUUID(),
+                Long.MAX_VALUE, ""));
+        pipeline.writeFrom(messages.iterator());
+
+        assertEquals(messages, pipeline.readList());
+    }
+
+    @Test
+    public void testEmptyDocument() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        DataPipeline<Message, String[]> pipeline = new DataPipeline<>(
+                io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages");
+        pipeline.writeFrom(Collections.emptyIterator());
+
+        assertTrue(pipeline.readList().isEmpty());
+    }
+
+    @Test
+    public void testMissingFileReadsNothing() {
+        DataPipeline<Message, String[]> pipeline = new DataPipeline<>(
+                new MemoryIOFactory(), new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages");
+
+        assertTrue(pipeline.readList().isEmpty());
+    }
+
+    @Test(expected = PersistentDataException.class)
+    public void testTruncatedDocumentIsRejected() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        DataPipeline<Message, String[]> pipeline = new DataPipeline<>(
+                io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages");
+        pipeline.writeFrom(createMessages(10).iterator());
+        byte[] bytes = io.files.get("messages");
+        io.files.put("messages", Arrays.copyOf(bytes, bytes.length - 1));
+
+        pipeline.readList();
+    }
+
+    @Test(expected = PersistentDataException.class)
+    public void testCsvDocumentIsRejected() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        new DataPipeline<>(io, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), "messages")
+                .writeFrom(createMessages(10).iterator());
+
+        new DataPipeline<>(io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages")
+                .readList();
+    }
+
+    @Test(expected = PersistentDataException.class)
+    public void testMismatchedColumnsAreRejected() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        new DataPipeline<>(io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "messages")
+                .writeFrom(createMessages(10).iterator());
+
+        new DataPipeline<>(io, new BinaryFormattedFactory(new BinaryFormat(UUID, UUID, UUID, STRING, STRING)),
+                new MessageSerializer(), "messages").readList();
+    }
+
+    @Test
+    public void testBinaryIsSmallerThanCsv() {
+        MemoryIOFactory io = new MemoryIOFactory();
+        List<Message> messages = createMessages(1000);
+        new DataPipeline<>(io, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), "csv")
+                .writeFrom(messages.iterator());
+        new DataPipeline<>(io, new BinaryFormattedFactory(MESSAGE_FORMAT), new MessageSerializer(), "binary")
+                .writeFrom(messages.iterator());
+
+        // CSV already writes UUIDs in 22 characters, so the gap is mostly the timestamps and separators
+        assertTrue(io.files.get("binary").length * 4 < io.files.get("csv").length * 3);
+    }
+
+    static List<Message> createMessages(int count) {
+        Random random = new Random(7);
+        List<java.util.UUID> users = new ArrayList<>();
+        for (int i = 0; i < 50; i++) users.add(java.util.UUID.randomUUID());
+        List<Message> messages = new ArrayList<>();
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            timestamp += random.nextInt(60_000);
+            messages.add(new Message(java.util.UUID.randomUUID(), users.get(random.nextInt(users.size())),
+                    java.util.UUID.randomUUID(), timestamp, "Message number " + i));
+        }
+        return messages;
+    }
+
+    /**
+     * Keeps every file in memory, so that tests do not touch the saved directory
+     */
+    static class MemoryIOFactory implements IOFactory {
+        final Map<String, byte[]> files = new HashMap<>();
+
+        @Override
+        public OutputStream outputStream(String filename) {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() {
+                    files.put(filename, toByteArray());
+                }
+            };
+        }
+
+        @Override
+        public OutputStream appendStream(String filename) {
+            byte[] existing = files.getOrDefault(filename, new byte[0]);
+            ByteArrayOutputStream stream = (ByteArrayOutputStream) outputStream(filename);
+            stream.writeBytes(existing);
+            return stream;
+        }
+
+        @Override
+        public InputStream inputStream(String filename) {
+            byte[] bytes = files.get(filename);
+            return bytes == null ? null : new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public Writer writer(String filename) {
+            return new OutputStreamWriter(outputStream(filename));
+        }
+
+        @Override
+        public Reader reader(String filename) {
+            InputStream stream = inputStream(filename);
+            return stream == null ? null : new InputStreamReader(stream);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+import org.junit.Test;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVReader;
+import persistentdata.formatted.CSVWriter;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CSVReaderTests {
+    private static final CSVFormat FORMAT = new CSVFormat(3);
+
+    private static List<String[]> readAll(String document) {
+        CSVReader reader = new CSVReader(FORMAT, new StringReader(document));
+        List<String[]> rows = new ArrayList<>();
+        while (reader.hasNext()) rows.add(reader.getNext());
+        return rows;
+    }
+
+    private static String write(List<String[]> rows) {
+        StringWriter document = new StringWriter();
+        CSVWriter writer = new CSVWriter(FORMAT, document);
+        writer.putHeader();
+        for (String[] row : rows) writer.putNext(row);
+        writer.putFooter();
+        return document.toString();
+    }
+
+    @Test
+    public void testHasNextIsFalseForEmptyDocument() {
+        assertFalse(new CSVReader(FORMAT, new StringReader("")).hasNext());
+    }
+
+    @Test
+    public void testHasNextIsFalseAfterLastRow() {
+        CSVReader reader = new CSVReader(FORMAT, new StringReader("a,b,c\nd,e,f"));
+        assertArrayEquals(new String[] {"a", "b", "c"}, reader.getNext());
+        assertTrue(reader.hasNext());
+        assertArrayEquals(new String[] {"d", "e", "f"}, reader.getNext());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    public void testTrailingLineSeparatorIsNotAnotherRow() {
+        assertEquals(1, readAll("a,b,c\n").size());
+    }
+
+    @Test
+    public void testEscapedFieldsRoundTrip() {
+        List<String[]> rows = List.of(
+                new String[] {"plain", "", "with, comma"},
+                new String[] {"\"quoted\"", "multi\nline", "\""},
+                new String[] {"", "", ""},
+                new String[] {"mid\"quote", "a\"\"b", ",\n\""});
+        List<String[]> read = readAll(write(rows));
+
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) assertArrayEquals(rows.get(i), read.get(i));
+    }
+
+    @Test
+    public void testFieldsSpanningBufferRefills() {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String longField = "x".repeat(i * 997);
+            rows.add(new String[] {longField, "row " + i, i % 2 == 0 ? longField + "," : "short"});
+        }
+        List<String[]> read = readAll(write(rows));
+
+        assertEquals(rows.size(), read.size());
+        for (int i = 0; i < rows.size(); i++) assertArrayEquals(rows.get(i), read.get(i));
+    }
+
+    @Test(expected = CSVReader.CSVIOException.class)
+    public void testShortLineIsRejected() {
+        readAll("a,b\n");
+    }
+
+    @Test(expected = CSVReader.CSVIOException.class)
+    public void testLongLineIsRejected() {
+        readAll("a,b,c,d\n");
+    }
+
+    @Test(expected = CSVReader.CSVIOException.class)
+    public void testUnterminatedEscapeIsRejected() {
+        readAll("a,b,\"c");
+    }
+
+    @Test(expected = CSVReader.CSVIOException.class)
+    public void testReadingPastEndIsRejected() {
+        CSVReader reader = new CSVReader(FORMAT, new StringReader("a,b,c"));
+        reader.getNext();
+        reader.getNext();
+    }
+}
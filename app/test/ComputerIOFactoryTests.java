@@ -0,0 +1,72 @@
+import dao.PostDAO;
+import dao.ReactionDao;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataManager;
+import persistentdata.PersistenceScheduler;
+import persistentdata.io.ComputerIOFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ComputerIOFactoryTests {
+    private Path directory;
+    private ComputerIOFactory io;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("computer-io");
+        io = new ComputerIOFactory(directory.toString());
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testMissingFileReturnsNull() {
+        assertNull(io.reader("missing"));
+        assertNull(io.inputStream("missing"));
+    }
+
+    @Test
+    public void testWrittenDataIsReadBack() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        Post post = new Post(UUID.randomUUID(), alice.id(), "Topic");
+        Message message = new Message(UUID.randomUUID(), alice.id(), post.id, 1, "Hello");
+        post.messages.insert(message);
+        PostDAO.getInstance().add(post);
+        new DataManager(io).writeAll();
+
+        // Logged after the snapshot, so it can only come back through the log
+        User bob = UserDAO.getInstance().register("bobby", "password");
+        new DataManager(io).logUser(bob);
+        PersistenceScheduler.getInstance().flush().join();
+
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        new DataManager(io).readAll();
+
+        assertEquals(alice, UserDAO.getInstance().getByUUID(alice.id()));
+        assertEquals(bob, UserDAO.getInstance().getByUUID(bob.id()));
+        assertEquals("Topic", PostDAO.getInstance().getByUUID(post.id).topic);
+        assertEquals(message, PostDAO.getInstance().getMessage(message.id()));
+    }
+}
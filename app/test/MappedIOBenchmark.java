@@ -0,0 +1,82 @@
+import dao.model.Message;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.*;
+import persistentdata.io.ComputerIOFactory;
+import persistentdata.io.MappedComputerIOFactory;
+import persistentdata.serialization.MessageSerializer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compares parsing a large messages file through a FileReader or FileInputStream, as
+ * ComputerIOFactory does, against the memory-mapped MappedComputerIOFactory, for CSV and binary.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class MappedIOBenchmark {
+	private static final int MESSAGES = 500_000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) throws IOException {
+		Path directory = Files.createTempDirectory("mapped-io-benchmark");
+		List<Message> messages = BinaryFormatTests.createMessages(MESSAGES);
+		CSVFormattedFactory csv = new CSVFormattedFactory(new CSVFormat(5));
+		BinaryFormattedFactory binary = new BinaryFormattedFactory(new BinaryFormat(
+				BinaryFormat.ColumnType.UUID, BinaryFormat.ColumnType.UUID, BinaryFormat.ColumnType.UUID,
+				BinaryFormat.ColumnType.DELTA_LONG, BinaryFormat.ColumnType.STRING));
+		ComputerIOFactory plain = new ComputerIOFactory(directory.toString());
+		new DataPipeline<>(plain, csv, new MessageSerializer(), "csv").writeFrom(messages.iterator());
+		new DataPipeline<>(plain, binary, new MessageSerializer(), "binary").writeFrom(messages.iterator());
+		File csvFile = directory.resolve("csv.txt").toFile();
+		File binaryFile = directory.resolve("binary.txt").toFile();
+		System.out.printf("%,d messages: CSV %,d bytes, binary %,d bytes%n", MESSAGES, csvFile.length(), binaryFile.length());
+
+		MappedComputerIOFactory mapped = new MappedComputerIOFactory(directory.toString());
+		long bestCsvFile = Long.MAX_VALUE, bestCsvMapped = Long.MAX_VALUE;
+		long bestBinaryFile = Long.MAX_VALUE, bestBinaryMapped = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			try (Reader reader = new FileReader(csvFile)) {
+				if (count(csv.reader(reader)) != MESSAGES) throw new AssertionError();
+			}
+			bestCsvFile = Math.min(bestCsvFile, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			try (Reader reader = mapped.reader("csv")) {
+				if (count(csv.reader(reader)) != MESSAGES) throw new AssertionError();
+			}
+			bestCsvMapped = Math.min(bestCsvMapped, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			try (InputStream stream = new FileInputStream(binaryFile)) {
+				if (count(binary.reader(stream)) != MESSAGES) throw new AssertionError();
+			}
+			bestBinaryFile = Math.min(bestBinaryFile, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			try (InputStream stream = mapped.inputStream("binary")) {
+				if (count(binary.reader(stream)) != MESSAGES) throw new AssertionError();
+			}
+			bestBinaryMapped = Math.min(bestBinaryMapped, System.nanoTime() - start);
+		}
+		System.out.printf("CSV:    FileReader %.1f ms, mapped %.1f ms (%.2fx)%n",
+				bestCsvFile / 1e6, bestCsvMapped / 1e6, (double) bestCsvFile / bestCsvMapped);
+		System.out.printf("binary: FileInputStream %.1f ms, mapped %.1f ms (%.2fx)%n",
+				bestBinaryFile / 1e6, bestBinaryMapped / 1e6, (double) bestBinaryFile / bestBinaryMapped);
+
+		csvFile.delete();
+		binaryFile.delete();
+		directory.toFile().delete();
+	}
+
+	private static int count(FormattedReader<String[]> reader) {
+		int rows = 0;
+		while (reader.hasNext()) {
+			reader.getNext();
+			rows++;
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,103 @@
+import dao.model.Message;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.BinaryFormat;
+import persistentdata.formatted.BinaryFormattedFactory;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVFormattedFactory;
+import persistentdata.io.ComputerIOFactory;
+import persistentdata.io.MappedComputerIOFactory;
+import persistentdata.serialization.MessageSerializer;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static persistentdata.formatted.BinaryFormat.ColumnType.*;
+
+public class MappedIOFactoryTests {
+    private Path directory;
+    private MappedComputerIOFactory io;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-io");
+        io = new MappedComputerIOFactory(directory.toString());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static String readFully(Reader reader, int chunk) throws IOException {
+        StringBuilder text = new StringBuilder();
+        char[] buffer = new char[chunk];
+        int read;
+        while ((read = reader.read(buffer, 0, buffer.length)) != -1) text.append(buffer, 0, read);
+        return text.toString();
+    }
+
+    @Test
+    public void testMissingFileReturnsNull() {
+        assertNull(io.reader("missing"));
+        assertNull(io.inputStream("missing"));
+    }
+
+    @Test
+    public void testReaderDecodesUtf8AcrossChunks() throws IOException {
+        String text = "plain ascii, ünïcödé, 漢字 and 🐦 ".repeat(1000);
+        try (Writer writer = new OutputStreamWriter(io.outputStream("text"), StandardCharsets.UTF_8)) {
+            writer.write(text);
+        }
+
+        // Odd chunk sizes split multi-byte characters and surrogate pairs between reads
+        for (int chunk : new int[] {1, 3, 7, 4096}) {
+            assertEquals(text, readFully(io.reader("text"), chunk));
+        }
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        io.outputStream("empty").close();
+
+        assertEquals(-1, io.reader("empty").read(new char[8], 0, 8));
+        assertEquals(-1, io.inputStream("empty").read());
+    }
+
+    @Test
+    public void testInputStreamMatchesFileContents() throws IOException {
+        byte[] bytes = new byte[100_000];
+        for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) (i * 31);
+        try (OutputStream stream = io.outputStream("bytes")) {
+            stream.write(bytes);
+        }
+
+        try (InputStream stream = io.inputStream("bytes")) {
+            assertEquals(bytes.length, stream.available());
+            assertArrayEquals(bytes, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    public void testPipelinesReadWhatComputerIOFactoryWrote() {
+        ComputerIOFactory plain = new ComputerIOFactory(directory.toString());
+        List<Message> messages = BinaryFormatTests.createMessages(2000);
+        CSVFormattedFactory csv = new CSVFormattedFactory(new CSVFormat(5));
+        BinaryFormattedFactory binary = new BinaryFormattedFactory(new BinaryFormat(UUID, UUID, UUID, DELTA_LONG, STRING));
+        new DataPipeline<>(plain, csv, new MessageSerializer(), "csv").writeFrom(messages.iterator());
+        new DataPipeline<>(plain, binary, new MessageSerializer(), "binary").writeFrom(messages.iterator());
+
+        assertEquals(messages, new DataPipeline<>(io, csv, new MessageSerializer(), "csv").readList());
+        assertEquals(messages, new DataPipeline<>(io, binary, new MessageSerializer(), "binary").readList());
+    }
+}
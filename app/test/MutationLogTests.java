@@ -0,0 +1,242 @@
+import dao.PostDAO;
+import dao.ReactionDao;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataManager;
+import persistentdata.MutationLog;
+import persistentdata.MutationLog.Operation;
+import reactions.ReactionType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class MutationLogTests {
+    private BinaryFormatTests.MemoryIOFactory io;
+
+    @Before
+    public void setUp() {
+        io = new BinaryFormatTests.MemoryIOFactory();
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+    }
+
+    private static List<String> replayAll(MutationLog log) {
+        List<String> entries = new ArrayList<>();
+        log.replay((operation, fields) -> entries.add(operation + " " + String.join("|", fields)));
+        return entries;
+    }
+
+    @Test
+    public void testEntriesReplayInOrder() {
+        MutationLog log = new MutationLog(io, "mutations");
+        log.append(Operation.ADD_POST, "a", "b", "topic, with \"quotes\"\nand a newline");
+        log.append(Operation.ADD_REACTION, "c", "d");
+        log.append(Operation.REMOVE_REACTION, "e", "f", "LIKE");
+
+        assertEquals(Arrays.asList(
+                "ADD_POST a|b|topic, with \"quotes\"\nand a newline||",
+                "ADD_REACTION c|d|||",
+                "REMOVE_REACTION e|f|LIKE||"), replayAll(log));
+        assertEquals(0, log.damaged());
+    }
+
+    @Test
+    public void testAppendOnlyWritesTheNewEntry() {
+        MutationLog log = new MutationLog(io, "mutations");
+        for (int i = 0; i < 100; i++) log.append(Operation.ADD_REACTION, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        int before = io.files.get("mutations").length;
+        log.append(Operation.ADD_REACTION, UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        assertEquals(before / 100, io.files.get("mutations").length - before);
+    }
+
+    @Test
+    public void testTornLastEntryIsSkipped() {
+        MutationLog log = new MutationLog(io, "mutations");
+        log.append(Operation.ADD_REACTION, "a", "b");
+        log.append(Operation.ADD_REACTION, "c", "d");
+        byte[] bytes = io.files.get("mutations");
+        // Cutting only the final line separator still leaves a complete entry
+        for (int cut = 2; cut < 8; cut++) {
+            io.files.put("mutations", Arrays.copyOf(bytes, bytes.length - cut));
+
+            assertEquals(List.of("ADD_REACTION a|b|||"), replayAll(log));
+            assertEquals(1, log.damaged());
+        }
+    }
+
+    @Test
+    public void testResetReplacesTheLog() {
+        MutationLog log = new MutationLog(io, "mutations");
+        log.append(Operation.ADD_REACTION, "a", "b");
+        log.reset(List.<String[]>of(MutationLog.entry(Operation.REMOVE_REACTION, "c", "d")));
+        log.append(Operation.ADD_REACTION, "e", "f");
+
+        assertEquals(List.of("REMOVE_REACTION c|d|||", "ADD_REACTION e|f|||"), replayAll(log));
+
+        log.reset(List.of());
+        assertTrue(replayAll(log).isEmpty());
+    }
+
+    @Test
+    public void testReadAllReplaysLoggedMutations() {
+        UserDAO users = UserDAO.getInstance();
+        PostDAO posts = PostDAO.getInstance();
+        User alice = users.register("alice", "password");
+        Post post = new Post(UUID.randomUUID(), alice.id(), "Snapshot post");
+        posts.add(post);
+        post.messages.insert(new Message(UUID.randomUUID(), alice.id(), post.id, 1, "First"));
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        Map<String, byte[]> snapshot = Map.copyOf(io.files);
+
+        User bob = users.register("bobby", "password");
+        manager.logUser(bob);
+        Post newPost = new Post(UUID.randomUUID(), bob.id(), "Logged post");
+        Message opening = new Message(UUID.randomUUID(), bob.id(), newPost.id, 2, "Opening");
+        newPost.messages.insert(opening);
+        posts.add(newPost);
+        manager.logPost(newPost);
+        Message reply = new Message(UUID.randomUUID(), alice.id(), post.id, 3, "Reply");
+        post.messages.insert(reply);
+        manager.logMessage(reply);
+        ReactionDao.getInstance().addReaction(bob.id(), reply.id(), ReactionType.LIKE, 4);
+        manager.logReactionAdded(bob.id(), reply.id(), ReactionType.LIKE, 4);
+        ReactionDao.getInstance().addReaction(bob.id(), reply.id(), ReactionType.SAD, 5);
+        manager.logReactionAdded(bob.id(), reply.id(), ReactionType.SAD, 5);
+        ReactionDao.getInstance().removeReaction(bob.id(), reply.id(), ReactionType.SAD);
+        manager.logReactionRemoved(bob.id(), reply.id(), ReactionType.SAD);
+
+        // None of that rewrote the snapshot files
+        for (String file : List.of("users", "posts", "messages")) {
+            assertArrayEquals(snapshot.get(file), io.files.get(file));
+        }
+
+        new DataManager(io).readAll();
+
+        assertNotNull(users.getByUUID(bob.id()));
+        assertEquals("Logged post", posts.getByUUID(newPost.id).topic);
+        assertSame(posts.getByUUID(newPost.id), posts.getByUUID(opening.thread()));
+        assertEquals(opening, posts.getMessage(opening.id()));
+        assertEquals(reply, posts.getMessage(reply.id()));
+        assertEquals(Map.of(bob.id(), Map.of(ReactionType.LIKE, 4L)),
+                ReactionDao.getInstance().getReactionsForMessage(reply.id()));
+
+        // Every kind of entry was replayed without damage, or readAll would have compacted the log
+        Set<Operation> logged = EnumSet.noneOf(Operation.class);
+        new MutationLog(io, "mutations").replay((operation, fields) -> logged.add(operation));
+        assertEquals(EnumSet.allOf(Operation.class), logged);
+    }
+
+    @Test
+    public void testReadAllAsyncLoadsTheSameAsReadAll() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        List<Message> messages = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Post post = new Post(UUID.randomUUID(), alice.id(), "Topic " + i);
+            PostDAO.getInstance().add(post);
+            for (int j = 0; j < 5; j++) {
+                Message message = new Message(UUID.randomUUID(), alice.id(), post.id, i * 5 + j, "Reply " + j);
+                post.messages.insert(message);
+                messages.add(message);
+            }
+        }
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        User bob = UserDAO.getInstance().register("bobby", "password");
+        manager.logUser(bob);
+        ReactionDao.getInstance().addReaction(bob.id(), messages.get(3).id(), ReactionType.LIKE, 9);
+        manager.logReactionAdded(bob.id(), messages.get(3).id(), ReactionType.LIKE, 9);
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+
+        new DataManager(io).readAllAsync().join();
+
+        assertNotNull(UserDAO.getInstance().getByUUID(alice.id()));
+        assertNotNull(UserDAO.getInstance().getByUUID(bob.id()));
+        for (Message message : messages) {
+            assertEquals(message, PostDAO.getInstance().getMessage(message.id()));
+            assertEquals(message.thread(), PostDAO.getInstance().getByUUID(message.thread()).id);
+        }
+        assertEquals(Map.of(bob.id(), Map.of(ReactionType.LIKE, 9L)),
+                ReactionDao.getInstance().getReactionsForMessage(messages.get(3).id()));
+    }
+
+    @Test
+    public void testWriteAllEmptiesTheLogButKeepsReactions() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        Post post = new Post(UUID.randomUUID(), alice.id(), "Topic");
+        PostDAO.getInstance().add(post);
+        Message message = new Message(UUID.randomUUID(), alice.id(), post.id, 1, "Hello");
+        post.messages.insert(message);
+        DataManager manager = new DataManager(io);
+        manager.logPost(post);
+        ReactionDao.getInstance().addReaction(alice.id(), message.id(), ReactionType.HAPPY, 7);
+        manager.logReactionAdded(alice.id(), message.id(), ReactionType.HAPPY, 7);
+
+        manager.writeAll();
+
+        // Reactions now have a snapshot file of their own, so nothing is carried over
+        assertEquals(0, io.files.get("mutations").length);
+        assertTrue(io.files.get("reactions").length > 0);
+
+        new DataManager(io).readAll();
+        assertEquals(message, PostDAO.getInstance().getMessage(message.id()));
+        assertEquals(Map.of(alice.id(), Map.of(ReactionType.HAPPY, 7L)),
+                ReactionDao.getInstance().getReactionsForMessage(message.id()));
+    }
+
+    @Test
+    public void testReactionsFileWrittenByHandIsRead() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        Post post = new Post(UUID.randomUUID(), alice.id(), "Topic");
+        Message message = new Message(UUID.randomUUID(), alice.id(), post.id, 1, "Hello");
+        post.messages.insert(message);
+        PostDAO.getInstance().add(post);
+        new DataManager(io).writeAll();
+        // Older files name the type instead of giving its ordinal, and may mention messages that are gone
+        io.files.put("reactions", (message.id() + "," + alice.id() + ",SAD,5\n"
+                + message.id() + "," + alice.id() + "," + ReactionType.LIKE.ordinal() + ",6\n"
+                + UUID.randomUUID() + "," + alice.id() + ",LIKE,7\n").getBytes(StandardCharsets.UTF_8));
+
+        new DataManager(io).readAll();
+
+        assertEquals(Map.of(alice.id(), Map.of(ReactionType.SAD, 5L, ReactionType.LIKE, 6L)),
+                ReactionDao.getInstance().getReactionsForMessage(message.id()));
+        assertEquals(Set.of(message.id()), ReactionDao.getInstance().findUser(alice.id()).getReactedMessageIds());
+    }
+
+    @Test
+    public void testReplayingMutationsAlreadyInTheSnapshotAddsNothing() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        Post post = new Post(UUID.randomUUID(), alice.id(), "Topic");
+        post.messages.insert(new Message(UUID.randomUUID(), alice.id(), post.id, 1, "Hello"));
+        PostDAO.getInstance().add(post);
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        // As if writing the snapshot finished but compacting the log did not
+        manager.logUser(alice);
+        manager.logPost(post);
+
+        new DataManager(io).readAll();
+
+        int count = 0;
+        for (var iterator = PostDAO.getInstance().getAllMessages(); iterator.hasNext(); iterator.next()) count++;
+        assertEquals(1, count);
+        assertNotNull(PostDAO.getInstance().getByUUID(post.id));
+    }
+}
@@ -0,0 +1,217 @@
+import dao.PostDAO;
+import dao.ReactionDao;
+import dao.UserDAO;
+import dao.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataManager;
+import persistentdata.MutationLog;
+import persistentdata.PersistenceScheduler;
+import persistentdata.PersistentDataException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PersistenceSchedulerTests {
+    private CountingIOFactory io;
+
+    @Before
+    public void setUp() {
+        io = new CountingIOFactory();
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+    }
+
+    /**
+     * Counts how often each kind of write opens a file
+     */
+    static class CountingIOFactory extends BinaryFormatTests.MemoryIOFactory {
+        final AtomicInteger appends = new AtomicInteger();
+        final AtomicInteger rewrites = new AtomicInteger();
+
+        @Override
+        public OutputStream appendStream(String filename) {
+            appends.incrementAndGet();
+            return super.appendStream(filename);
+        }
+
+        @Override
+        public OutputStream outputStream(String filename) {
+            if (filename.equals("users")) rewrites.incrementAndGet();
+            return super.outputStream(filename);
+        }
+    }
+
+    private int loggedEntries() {
+        return new MutationLog(io, "mutations").replay((operation, fields) -> {});
+    }
+
+    @Test
+    public void testBurstOfMutationsIsAppendedOnce() {
+        for (int i = 0; i < 100; i++) {
+            // A fresh DataManager each time, as the activities make, still shares the pending append
+            new DataManager(io).logUser(new User(UUID.randomUUID(), User.Role.Member, "user" + i, "password"));
+        }
+        PersistenceScheduler.getInstance().flush().join();
+
+        assertEquals(1, io.appends.get());
+        assertEquals(100, loggedEntries());
+    }
+
+    @Test
+    public void testPendingEntriesAreWrittenWithoutFlushing() throws InterruptedException {
+        new DataManager(io).logUser(new User(UUID.randomUUID(), User.Role.Member, "alice", "password"));
+
+        for (int i = 0; i < 100 && !io.files.containsKey("mutations"); i++) Thread.sleep(50);
+        assertEquals(1, loggedEntries());
+    }
+
+    @Test
+    public void testRepeatedWriteAllRequestsCollapse() {
+        User alice = UserDAO.getInstance().register("alice", "password");
+        DataManager manager = new DataManager(io);
+        for (int i = 0; i < 50; i++) manager.writeAllLater();
+        PersistenceScheduler.getInstance().flush().join();
+
+        // The first request may already be running by the time the rest arrive
+        assertTrue(io.rewrites.get() >= 1 && io.rewrites.get() <= 2);
+
+        UserDAO.getInstance().clear();
+        new DataManager(io).readAll();
+        assertNotNull(UserDAO.getInstance().getByUUID(alice.id()));
+    }
+
+    /**
+     * Holds up every append until released, keeping the persistence thread busy
+     */
+    static class BlockingIOFactory extends BinaryFormatTests.MemoryIOFactory {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public OutputStream appendStream(String filename) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return super.appendStream(filename);
+        }
+    }
+
+    @Test
+    public void testReadAllKeepsEntriesQueuedWithAWriteAll() throws InterruptedException {
+        DataManager manager = new DataManager(io);
+        UserDAO.getInstance().register("alice", "password");
+        manager.writeAll();
+
+        // Keep the persistence thread busy, so the writeAll and entries below queue up behind it
+        BlockingIOFactory blocking = new BlockingIOFactory();
+        new DataManager(blocking).logUser(new User(UUID.randomUUID(), User.Role.Member, "other", "password"));
+        PersistenceScheduler.getInstance().flush();
+
+        User bob = UserDAO.getInstance().register("bobby", "password");
+        manager.logUser(bob);
+        manager.writeAllLater();
+
+        Thread reader = new Thread(() -> new DataManager(io).readAll());
+        reader.start();
+        for (int i = 0; i < 100 && reader.getState() != Thread.State.WAITING; i++) Thread.sleep(10);
+        blocking.release.countDown();
+        reader.join();
+
+        assertEquals(bob, UserDAO.getInstance().getByUUID(bob.id()));
+        PersistenceScheduler.getInstance().flush().join();
+        UserDAO.getInstance().clear();
+        new DataManager(io).readAll();
+        assertEquals(bob, UserDAO.getInstance().getByUUID(bob.id()));
+    }
+
+    /**
+     * Fails the first few times each file is written, as a full or busy disk might
+     */
+    static class FailingIOFactory extends BinaryFormatTests.MemoryIOFactory {
+        final AtomicInteger failures;
+
+        FailingIOFactory(int failures) {
+            this.failures = new AtomicInteger(failures);
+        }
+
+        @Override
+        public OutputStream outputStream(String filename) {
+            if (failures.getAndDecrement() > 0) throw new PersistentDataException("Disk full");
+            return super.outputStream(filename);
+        }
+    }
+
+    @Test
+    public void testFailedAppendIsRetried() throws InterruptedException {
+        FailingIOFactory failing = new FailingIOFactory(1);
+        new DataManager(failing).logUser(new User(UUID.randomUUID(), User.Role.Member, "alice", "password"));
+
+        // Nothing else is logged, so only the scheduler itself can try again
+        for (int i = 0; i < 100 && !failing.files.containsKey("mutations"); i++) Thread.sleep(50);
+        assertEquals(1, new MutationLog(failing, "mutations").replay((operation, fields) -> {}));
+    }
+
+    @Test
+    public void testFailedWriteAllIsRetried() throws InterruptedException {
+        FailingIOFactory failing = new FailingIOFactory(1);
+        User alice = UserDAO.getInstance().register("alice", "password");
+        new DataManager(failing).writeAllLater();
+
+        for (int i = 0; i < 100 && !failing.files.containsKey("users"); i++) Thread.sleep(50);
+        UserDAO.getInstance().clear();
+        new DataManager(failing).readAll();
+        assertEquals(alice, UserDAO.getInstance().getByUUID(alice.id()));
+    }
+
+    /**
+     * Runs a task the next time the reactions file is opened, part way through a read
+     */
+    static class HookedIOFactory extends BinaryFormatTests.MemoryIOFactory {
+        Runnable onReadingReactions;
+
+        @Override
+        public InputStream inputStream(String filename) {
+            if (filename.equals("reactions") && onReadingReactions != null) {
+                Runnable hook = onReadingReactions;
+                onReadingReactions = null;
+                hook.run();
+            }
+            return super.inputStream(filename);
+        }
+    }
+
+    @Test
+    public void testWriteAllRequestedDuringReadAllWaitsForTheLoad() {
+        HookedIOFactory hooked = new HookedIOFactory();
+        DataManager manager = new DataManager(hooked);
+        UserDAO.getInstance().register("alice", "password");
+        manager.writeAll();
+        User bob = UserDAO.getInstance().register("bobby", "password");
+        manager.logUser(bob);
+
+        // Once the users file has been read, a writeAll is requested and given time to run
+        hooked.onReadingReactions = () -> {
+            manager.writeAllLater();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        };
+        new DataManager(hooked).readAll();
+
+        assertEquals(bob, UserDAO.getInstance().getByUUID(bob.id()));
+        PersistenceScheduler.getInstance().flush().join();
+        UserDAO.getInstance().clear();
+        new DataManager(hooked).readAll();
+        assertEquals(bob, UserDAO.getInstance().getByUUID(bob.id()));
+    }
+}
@@ -0,0 +1,71 @@
+import dao.PostDAO;
+import dao.model.Message;
+import dao.model.Post;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class PostDAOTests {
+
+    @Before
+    public void setUp() {
+        PostDAO.getInstance().clear();
+    }
+
+    @Test
+    public void testMessageInsertedAfterAddIsIndexed() {
+        Post post = new Post(UUID.randomUUID(), UUID.randomUUID(), "Topic");
+        PostDAO.getInstance().add(post);
+        Message message = createMessage(post);
+        post.messages.insert(message);
+
+        assertTrue(PostDAO.getInstance().containsMessage(message.id()));
+        assertSame(message, PostDAO.getInstance().getMessage(message.id()));
+    }
+
+    @Test
+    public void testMessageInsertedBeforeAddIsIndexed() {
+        Post post = new Post(UUID.randomUUID(), UUID.randomUUID(), "Topic");
+        Message message = createMessage(post);
+        post.messages.insert(message);
+        PostDAO.getInstance().add(post);
+
+        assertSame(message, PostDAO.getInstance().getMessage(message.id()));
+    }
+
+    @Test
+    public void testClearForgetsMessages() {
+        Post post = new Post(UUID.randomUUID(), UUID.randomUUID(), "Topic");
+        PostDAO.getInstance().add(post);
+        PostDAO.getInstance().clear();
+
+        // The post is no longer stored, so its later messages must not reappear
+        Message message = createMessage(post);
+        post.messages.insert(message);
+        assertFalse(PostDAO.getInstance().containsMessage(message.id()));
+        assertNull(PostDAO.getInstance().getMessage(UUID.randomUUID()));
+    }
+
+    @Test
+    public void testPostAddedAgainAfterClearIsListenedToOnce() {
+        Post post = new Post(UUID.randomUUID(), UUID.randomUUID(), "Topic");
+        PostDAO.getInstance().add(post);
+        PostDAO.getInstance().clear();
+        PostDAO.getInstance().add(post);
+
+        long before = PostDAO.getInstance().getMessageVersion();
+        Message message = createMessage(post);
+        post.messages.insert(message);
+
+        assertSame(message, PostDAO.getInstance().getMessage(message.id()));
+        assertEquals(before + 1, PostDAO.getInstance().getMessageVersion());
+    }
+
+    private Message createMessage(Post post) {
+        return new Message(UUID.randomUUID(), post.poster, post.getUUID(),
+                System.currentTimeMillis(), "Test content");
+    }
+}
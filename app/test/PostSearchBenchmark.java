@@ -0,0 +1,107 @@
+import dao.PostDAO;
+import dao.PostSearchIndex;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compares scanning every post's text, as PostSearchHelper used to on each keystroke, with
+ * PostSearchIndex, over 100,000 messages. Each query is searched once per character typed, and
+ * includes common words, rare ones and a word that is not there at all. Ranking is timed both
+ * keeping the best 50 matches and ranking every one of them.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class PostSearchBenchmark {
+	private static final int USERS = 1_000;
+	private static final int POSTS = 10_000;
+	private static final int MESSAGES = 100_000;
+	private static final int ROUNDS = 5;
+	private static final String[] WORDS = ("the quick brown fox jumps over lazy dog hackathon android search index message "
+			+ "reply thread topic user pinned post chirp weekend coffee project deadline review merge").split(" ");
+	// Most words in a message are common ones, the rest come from a long tail
+	private static final int RARE_WORDS = 5_000;
+	private static final String[] QUERIES = {"deadline", "coffee weekend", "quick brown", "zebra", "user42"};
+	private static final List<String> rare = new ArrayList<>();
+
+	public static void main(String[] args) {
+		Random random = new Random(3);
+		for (int i = 0; i < RARE_WORDS; i++) {
+			StringBuilder word = new StringBuilder();
+			for (int length = 4 + random.nextInt(6); word.length() < length; ) word.append((char) ('a' + random.nextInt(26)));
+			rare.add(word.toString());
+		}
+		List<User> users = new ArrayList<>();
+		for (int i = 0; i < USERS; i++) users.add(UserDAO.getInstance().register("user" + i, "password"));
+		List<Post> posts = new ArrayList<>();
+		for (int i = 0; i < POSTS; i++) {
+			Post post = new Post(UUID.randomUUID(), users.get(random.nextInt(USERS)).id(), sentence(random, 4));
+			PostDAO.getInstance().add(post);
+			posts.add(post);
+		}
+		for (int i = 0; i < MESSAGES; i++) {
+			Post post = posts.get(random.nextInt(POSTS));
+			post.messages.insert(new Message(UUID.randomUUID(), users.get(random.nextInt(USERS)).id(), post.id, i, sentence(random, 10)));
+		}
+
+		long start = System.nanoTime();
+		PostSearchIndex.getInstance().search("warm up", Integer.MAX_VALUE);
+		System.out.printf("Building the index: %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+		for (int round = 0; round < ROUNDS; round++) {
+			long scanned = 0, indexed = 0, rankedBest = 0;
+			int scanMatches = 0, indexMatches = 0;
+			for (String query : QUERIES) {
+				for (int length = 1; length <= query.length(); length++) {
+					String typed = query.substring(0, length);
+					start = System.nanoTime();
+					scanMatches += scan(posts, typed).size();
+					scanned += System.nanoTime() - start;
+					start = System.nanoTime();
+					indexMatches += PostSearchIndex.getInstance().search(typed, Integer.MAX_VALUE).size();
+					indexed += System.nanoTime() - start;
+					start = System.nanoTime();
+					PostSearchIndex.getInstance().search(typed, 50);
+					rankedBest += System.nanoTime() - start;
+				}
+			}
+			if (scanMatches != indexMatches) throw new AssertionError(scanMatches + " != " + indexMatches);
+			int keystrokes = 0;
+			for (String query : QUERIES) keystrokes += query.length();
+			System.out.printf("Round %d: scan %.2f ms per keystroke, index %.2f ms per keystroke%n",
+					round, scanned / 1e6 / keystrokes, indexed / 1e6 / keystrokes);
+			System.out.printf("         ranked best 50 %.2f ms per keystroke%n", rankedBest / 1e6 / keystrokes);
+		}
+	}
+
+	private static String sentence(Random random, int words) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			if (i > 0) text.append(' ');
+			text.append(random.nextBoolean() ? WORDS[random.nextInt(WORDS.length)] : rare.get(random.nextInt(RARE_WORDS)));
+		}
+		return text.toString();
+	}
+
+	private static Set<UUID> scan(List<Post> posts, String query) {
+		String text = query.toLowerCase().trim();
+		Set<UUID> matches = new HashSet<>();
+		for (Post post : posts) {
+			boolean found = post.topic.toLowerCase().contains(text);
+			for (Iterator<Message> messages = post.messages.getAll(); messages.hasNext() && !found; ) {
+				found = messages.next().message().toLowerCase().contains(text);
+			}
+			User author = UserDAO.getInstance().getByUUID(post.poster);
+			if (found || author.username().toLowerCase().contains(text)) matches.add(post.id);
+		}
+		return matches;
+	}
+}
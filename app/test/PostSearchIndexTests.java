@@ -0,0 +1,243 @@
+import dao.PostDAO;
+import dao.PostSearchIndex;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+public class PostSearchIndexTests {
+    private PostSearchIndex index;
+    private User alice;
+    private User bob;
+
+    @Before
+    public void setUp() {
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        index = PostSearchIndex.getInstance();
+        alice = UserDAO.getInstance().register("alice", "password");
+        bob = UserDAO.getInstance().register("BobTheBuilder", "password");
+    }
+
+    private Post post(User poster, String topic, String... messages) {
+        Post post = new Post(UUID.randomUUID(), poster.id(), topic);
+        for (int i = 0; i < messages.length; i++) {
+            post.messages.insert(new Message(UUID.randomUUID(), poster.id(), post.id, i, messages[i]));
+        }
+        PostDAO.getInstance().add(post);
+        return post;
+    }
+
+    /**
+     * Every match, in no particular order
+     */
+    private Set<UUID> search(String query) {
+        return new HashSet<>(index.search(query, Integer.MAX_VALUE));
+    }
+
+    /**
+     * The search the index replaces: every post's text, checked one by one
+     */
+    private static Set<UUID> scan(String query) {
+        String text = query.toLowerCase().trim();
+        Set<UUID> matches = new HashSet<>();
+        for (Iterator<Post> posts = PostDAO.getInstance().getAll(); posts.hasNext(); ) {
+            Post post = posts.next();
+            boolean found = post.topic.toLowerCase().contains(text)
+                    || UserDAO.getInstance().getByUUID(post.poster).username().toLowerCase().contains(text);
+            for (Iterator<Message> messages = post.messages.getAll(); messages.hasNext() && !found; ) {
+                found = messages.next().message().toLowerCase().contains(text);
+            }
+            if (found) matches.add(post.id);
+        }
+        return matches;
+    }
+
+    @Test
+    public void testFindsTopicsMessagesAndAuthors() {
+        Post cats = post(alice, "Cats are great", "I agree");
+        Post dogs = post(alice, "Dogs", "Walkies at NOON");
+        Post tools = post(bob, "Tools", "Hammer time");
+
+        assertEquals(Set.of(cats.id), search("great"));
+        assertEquals(Set.of(dogs.id), search("noon"));
+        assertEquals(Set.of(tools.id), search("thebuild"));
+        assertEquals(Set.of(cats.id, dogs.id), search("  ALICE "));
+        assertEquals(Set.of(), search("cats are greater"));
+    }
+
+    @Test
+    public void testShortQueriesAreExact() {
+        Post cats = post(alice, "Cats", "meow");
+        Post dogs = post(bob, "Dogs", "woof");
+
+        assertEquals(Set.of(cats.id, dogs.id), search("o"));
+        assertEquals(Set.of(dogs.id), search("oo"));
+        assertEquals(Set.of(cats.id), search("eow"));
+        assertEquals(Set.of(), search("zz"));
+        assertEquals(Set.of(cats.id, dogs.id), search(""));
+    }
+
+    @Test
+    public void testRunsInTheWrongOrderDoNotMatch() {
+        // Holds "abc" and "bcd" but not "abcd"
+        post(alice, "abc xbcd");
+
+        assertEquals(Set.of(), search("abcd"));
+    }
+
+    @Test
+    public void testPostsAndRepliesAddedLaterAreFound() {
+        Post cats = post(alice, "Cats");
+        assertEquals(Set.of(), search("whiskers"));
+
+        cats.messages.insert(new Message(UUID.randomUUID(), bob.id(), cats.id, 5, "Whiskers!"));
+        Post dogs = post(bob, "More whiskers");
+
+        assertEquals(Set.of(cats.id, dogs.id), search("whiskers"));
+    }
+
+    @Test
+    public void testClearedPostsAreForgotten() {
+        post(alice, "Cats");
+        assertEquals(1, search("cat").size());
+
+        PostDAO.getInstance().clear();
+        Post other = post(alice, "Category theory");
+
+        assertEquals(Set.of(other.id), search("cat"));
+    }
+
+    @Test
+    public void testPostAddedWhileTypingIsFound() {
+        post(alice, "whiskers");
+        assertEquals(1, search("whis").size());
+
+        // Its runs were never seen by the previous query, so narrowing that query's matches would miss it
+        Post added = post(bob, "more whiskers");
+
+        assertEquals(2, search("whisk").size());
+        assertTrue(search("whiske").contains(added.id));
+    }
+
+    @Test
+    public void testTypingAndDeletingAgreesWithScanning() {
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            post(random.nextBoolean() ? alice : bob, randomText(random, "abcd ", 10), randomText(random, "abcd ", 20));
+        }
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomText(random, "abcd", 8);
+            for (int length = 1; length <= query.length(); length++) {
+                assertEquals(scan(query.substring(0, length)), search(query.substring(0, length)));
+            }
+            for (int length = query.length() - 1; length > 0; length--) {
+                assertEquals(scan(query.substring(0, length)), search(query.substring(0, length)));
+            }
+            // Inserting in the middle still contains the previous query
+            String widened = "a" + query.substring(2);
+            assertEquals(scan(widened), search(widened));
+        }
+    }
+
+    private Post postAt(User poster, String topic, long timestamp, String message) {
+        Post post = new Post(UUID.randomUUID(), poster.id(), topic);
+        post.messages.insert(new Message(UUID.randomUUID(), poster.id(), post.id, timestamp, message));
+        PostDAO.getInstance().add(post);
+        return post;
+    }
+
+    @Test
+    public void testRanksTopicAboveAuthorAboveMessage() {
+        Post inMessage = postAt(bob, "Weekend", 0, "ask alice about it");
+        Post inTopic = postAt(bob, "Alice in wonderland", 0, "a book");
+        Post byAuthor = postAt(alice, "Weekend", 0, "plans");
+
+        assertEquals(List.of(inTopic.id, byAuthor.id, inMessage.id), index.search("alice", 10));
+    }
+
+    @Test
+    public void testRanksFrequentAndRecentMatchesHigher() {
+        long day = 24 * 60 * 60 * 1000;
+        Post once = postAt(bob, "Weekend", 10 * day, "coffee");
+        Post often = postAt(bob, "Weekend", 10 * day, "coffee, more coffee, all the coffee");
+        Post old = postAt(bob, "Weekend", 0, "coffee");
+
+        assertEquals(List.of(often.id, once.id, old.id), index.search("coffee", 10));
+        // A blank query ranks by recency alone
+        assertEquals(old.id, index.search("", 10).get(2));
+    }
+
+    @Test
+    public void testRankedResultsAreTheBestOfAllMatches() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            postAt(random.nextBoolean() ? alice : bob, randomText(random, "abc ", 8), random.nextInt(1_000_000_000),
+                    randomText(random, "abc ", 30));
+        }
+
+        for (String query : List.of("a", "ab", "abc", "cab a", "")) {
+            List<UUID> all = index.search(query, Integer.MAX_VALUE);
+            assertEquals(query.isEmpty() ? 500 : scan(query).size(), all.size());
+            assertEquals(all.size(), new HashSet<>(all).size());
+            if (!query.isEmpty()) assertEquals(scan(query), new HashSet<>(all));
+            assertEquals(all.subList(0, Math.min(50, all.size())), index.search(query, 50));
+        }
+        assertEquals(List.of(), index.search("a", 0));
+    }
+
+    @Test
+    public void testInterruptedRankedSearchIsCancelled() {
+        postAt(alice, "Weekend", 0, "coffee");
+        index.search("coffee", 10);
+
+        Thread.currentThread().interrupt();
+        try {
+            index.search("coffee", 10);
+            fail("Expected the search to be cancelled");
+        } catch (CancellationException expected) {
+        } finally {
+            Thread.interrupted();
+        }
+        // The index is left as it was, so the next search still finds the post
+        assertEquals(1, index.search("coffee", 10).size());
+    }
+
+    @Test
+    public void testAgreesWithScanningEveryPost() {
+        Random random = new Random(11);
+        String alphabet = "abcde ";
+        List<User> users = List.of(alice, bob);
+        for (int i = 0; i < 300; i++) {
+            String[] messages = new String[random.nextInt(4)];
+            for (int j = 0; j < messages.length; j++) messages[j] = randomText(random, alphabet, 12);
+            post(users.get(random.nextInt(2)), randomText(random, alphabet, 8), messages);
+            // Searching as posts arrive exercises the incremental updates too
+            if (i % 50 == 0) search("ab");
+        }
+
+        for (int i = 0; i < 500; i++) {
+            String query = randomText(random, alphabet, 1 + random.nextInt(6));
+            assertEquals(query, scan(query), search(query));
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return text.toString();
+    }
+}
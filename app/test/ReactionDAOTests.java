@@ -10,6 +10,7 @@ import reactions.ReactionType;
 import reactions.ReactionsFacade;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.*;
@@ -452,4 +453,36 @@ public class ReactionDAOTests {
         assertEquals("User2/Message1 should have 1", 1, u2m1.size());
         assertEquals("User2/Message2 should have 0", 0, u2m2.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testIntegration_ReactionsForMessageTracksAddAndRemove() {
+        UUID u1 = testUser1.getUUID();
+        UUID u2 = testUser2.getUUID();
+        for (ReactionType type : ReactionsFacade.getReactions(u1, testMessage1.id())) {
+            ReactionsFacade.removeReaction(u1, testMessage1.id(), type);
+        }
+
+        ReactionsFacade.addReaction(u1, testMessage1.id(), ReactionType.HAPPY, 100L);
+        ReactionsFacade.addReaction(u1, testMessage1.id(), ReactionType.SAD, 200L);
+        ReactionsFacade.addReaction(u2, testMessage1.id(), ReactionType.LAUGH, 300L);
+
+        Map<UUID, Map<ReactionType, Long>> onMessage = ReactionsFacade.getReactionsForMessage(testMessage1.id());
+        assertEquals("User1 should have 2 reactions indexed", 2, onMessage.get(u1).size());
+        assertEquals(Long.valueOf(300L), onMessage.get(u2).get(ReactionType.LAUGH));
+
+        ReactionsFacade.removeReaction(u1, testMessage1.id(), ReactionType.HAPPY);
+        assertEquals("Index should reflect the removal", 1,
+                ReactionsFacade.getReactionsForMessage(testMessage1.id()).get(u1).size());
+
+        ReactionsFacade.removeReaction(u1, testMessage1.id(), ReactionType.SAD);
+        assertFalse("User1 should leave the index once they have no reactions left",
+                ReactionsFacade.getReactionsForMessage(testMessage1.id()).containsKey(u1));
+        assertTrue("User2 should be unaffected",
+                ReactionsFacade.getReactionsForMessage(testMessage1.id()).containsKey(u2));
+    }
+
+    @Test
+    public void testGetReactionsForMessage_Unknown() {
+        assertTrue(ReactionsFacade.getReactionsForMessage(UUID.randomUUID()).isEmpty());
+    }
+}
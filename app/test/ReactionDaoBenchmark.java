@@ -0,0 +1,52 @@
+import dao.ReactionDao;
+import reactions.ReactionType;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Measures add/remove throughput of ReactionDao as the number of reacting users grows.
+ * findUser probes the sorted structure, so each operation should grow at most
+ * logarithmically with the user count instead of linearly.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class ReactionDaoBenchmark {
+	private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+	private static final int MESSAGES = 1_000;
+	private static final int OPS = 1_000_000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		ReactionType[] types = ReactionType.values();
+		UUID[] messages = new UUID[MESSAGES];
+		for (int i = 0; i < MESSAGES; i++) messages[i] = UUID.randomUUID();
+
+		for (int size : SIZES) {
+			ReactionDao reactions = ReactionDao.getInstance();
+			reactions.clear();
+			UUID[] users = new UUID[size];
+			for (int i = 0; i < size; i++) users[i] = UUID.randomUUID();
+			// Sorted ids arrive in the DAO's order, so filling it stays cheap
+			Arrays.sort(users);
+			for (int i = 0; i < size; i++) {
+				reactions.addReaction(users[i], messages[i % MESSAGES], ReactionType.LIKE, i);
+			}
+
+			long best = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				for (int i = 0; i < OPS; i++) {
+					UUID user = users[random.nextInt(size)];
+					UUID message = messages[random.nextInt(MESSAGES)];
+					ReactionType type = types[1 + random.nextInt(types.length - 1)];
+					reactions.addReaction(user, message, type, size + i);
+					reactions.removeReaction(user, message, type);
+				}
+				best = Math.min(best, System.nanoTime() - start);
+			}
+			System.out.printf("%,9d users: %6.1f ns per add+remove%n", size, (double) best / OPS);
+		}
+	}
+}
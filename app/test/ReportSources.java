@@ -10,6 +10,9 @@ public class ReportSources {
 	 * or modify the signature of this method.
 	 */
 	public IReactionReporter[] getReporters() {
-		return new IReactionReporter[] {ReactionReportFactory.buildReporter("overview")};
+		return new IReactionReporter[] {
+				ReactionReportFactory.buildReporter("overview"),
+				ReactionReportFactory.buildReporter("overview-streaming")
+		};
 	}
 }
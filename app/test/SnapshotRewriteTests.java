@@ -0,0 +1,198 @@
+import dao.PostDAO;
+import dao.ReactionDao;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import persistentdata.DataManager;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVFormattedFactory;
+import persistentdata.serialization.MessageSerializer;
+import persistentdata.serialization.UUIDCodec;
+import reactions.ReactionType;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+public class SnapshotRewriteTests {
+    private RecordingIOFactory io;
+    private User alice;
+    private List<Post> posts;
+
+    /**
+     * Remembers the name of every file opened for writing from scratch
+     */
+    static class RecordingIOFactory extends BinaryFormatTests.MemoryIOFactory {
+        final List<String> rewritten = new CopyOnWriteArrayList<>();
+
+        @Override
+        public OutputStream outputStream(String filename) {
+            rewritten.add(filename);
+            return super.outputStream(filename);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        io = new RecordingIOFactory();
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+        alice = UserDAO.getInstance().register("alice", "password");
+        createPosts();
+    }
+
+    private void createPosts() {
+        posts = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Post post = new Post(UUID.randomUUID(), alice.id(), "Topic " + i);
+            post.messages.insert(new Message(UUID.randomUUID(), alice.id(), post.id, i, "Opening " + i));
+            PostDAO.getInstance().add(post);
+            posts.add(post);
+        }
+    }
+
+    private List<String> rewrittenBy(Runnable action) {
+        io.rewritten.clear();
+        action.run();
+        // The log is compacted by every writeAll, whatever else changed
+        io.rewritten.remove("mutations");
+        return List.copyOf(io.rewritten);
+    }
+
+    private List<String> messageFiles() {
+        return io.files.keySet().stream().filter(name -> name.startsWith("messages-")).toList();
+    }
+
+    @Test
+    public void testUnchangedFilesAreNotRewritten() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+
+        assertEquals(List.of(), rewrittenBy(manager::writeAll));
+        // Not even by another DataManager for the same files, as each activity makes
+        assertEquals(List.of(), rewrittenBy(new DataManager(io)::writeAll));
+    }
+
+    @Test
+    public void testReplyRewritesOnlyItsOwnPartition() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        Post post = posts.get(7);
+
+        List<String> rewritten = rewrittenBy(() -> {
+            post.messages.insert(new Message(UUID.randomUUID(), alice.id(), post.id, 100, "Reply"));
+            manager.writeAll();
+        });
+
+        assertEquals(1, rewritten.size());
+        assertTrue(rewritten.get(0).startsWith("messages-"));
+        assertTrue(messageFiles().size() > 1);
+    }
+
+    @Test
+    public void testEachCollectionIsRewrittenOnlyWhenItChanges() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+
+        assertEquals(List.of("users"), rewrittenBy(() -> {
+            UserDAO.getInstance().register("bobby", "password");
+            manager.writeAll();
+        }));
+        assertEquals(List.of("reactions"), rewrittenBy(() -> {
+            ReactionDao.getInstance().addReaction(alice.id(), posts.get(0).messages.getAtIndex(0).id(), ReactionType.LIKE, 1);
+            manager.writeAll();
+        }));
+        // A post without replies changes the posts file but no message file
+        assertEquals(List.of("posts"), rewrittenBy(() -> {
+            PostDAO.getInstance().add(new Post(UUID.randomUUID(), alice.id(), "Quiet post"));
+            manager.writeAll();
+        }));
+    }
+
+    @Test
+    public void testFilesMatchingWhatWasReadAreNotRewritten() {
+        new DataManager(io).writeAll();
+        DataManager manager = new DataManager(io);
+        manager.readAll();
+
+        assertEquals(List.of(), rewrittenBy(manager::writeAll));
+    }
+
+    @Test
+    public void testReloadedPostsAreRewrittenEvenWithTheSameVersions() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        byte[] before = io.files.get("posts");
+
+        // Different posts built the same way, so their message versions add up just as before
+        PostDAO.getInstance().clear();
+        createPosts();
+        manager.writeAll();
+
+        assertFalse(Arrays.equals(before, io.files.get("posts")));
+        new DataManager(io).readAll();
+        for (Post post : posts) {
+            Message opening = post.messages.getAtIndex(0);
+            assertEquals(opening, PostDAO.getInstance().getMessage(opening.id()));
+        }
+    }
+
+    @Test
+    public void testMalformedReactionRowsAreSkipped() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        Message first = posts.get(0).messages.getAtIndex(0);
+        Message second = posts.get(1).messages.getAtIndex(0);
+        String user = UUIDCodec.encode(alice.id());
+        // As a hand-edited file might be: a blank line, a short row, an unknown type and a bad UUID
+        String text = UUIDCodec.encode(first.id()) + "," + user + ",0,1\n"
+                + "\n"
+                + "not,enough\n"
+                + UUIDCodec.encode(first.id()) + "," + user + ",99,2\n"
+                + "nonsense," + user + ",LOVE,3\n"
+                + UUIDCodec.encode(second.id()) + "," + user + ",LOVE,4\n";
+        io.files.put("reactions", text.getBytes(StandardCharsets.UTF_8));
+
+        manager.readAll();
+
+        assertEquals(Map.of(alice.id(), Map.of(ReactionType.LIKE, 1L)), ReactionDao.getInstance().getReactionsForMessage(first.id()));
+        assertEquals(Map.of(alice.id(), Map.of(ReactionType.LOVE, 4L)), ReactionDao.getInstance().getReactionsForMessage(second.id()));
+        // The damaged rows are dropped by rewriting the file
+        assertEquals(List.of("reactions"), rewrittenBy(manager::writeAll));
+    }
+
+    @Test
+    public void testSingleMessagesFileIsSplitUp() {
+        DataManager manager = new DataManager(io);
+        manager.writeAll();
+        // As written before messages were partitioned
+        List<Message> messages = new ArrayList<>();
+        for (Post post : posts) messages.add(post.messages.getAtIndex(0));
+        new DataPipeline<>(io, new CSVFormattedFactory(new CSVFormat(5)), new MessageSerializer(), "messages")
+                .writeFrom(messages.iterator());
+        for (String file : messageFiles()) io.files.remove(file);
+
+        manager.readAll();
+        for (Message message : messages) assertEquals(message, PostDAO.getInstance().getMessage(message.id()));
+        List<String> rewritten = rewrittenBy(manager::writeAll);
+
+        assertTrue(rewritten.contains("messages"));
+        assertEquals(Set.copyOf(messageFiles()), Set.copyOf(rewritten.subList(0, rewritten.size() - 1)));
+        assertEquals(0, io.files.get("messages").length);
+        manager.readAll();
+        for (Message message : messages) assertEquals(message, PostDAO.getInstance().getMessage(message.id()));
+    }
+}
@@ -0,0 +1,45 @@
+import sorteddata.SortedData;
+import sorteddata.SortedDataFactory;
+import sorteddata.SortedDataFactory.Implementation;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Compares insert throughput and allocation between the SortedData implementations.
+ * The persistent AVLTree copies a path of nodes on every insert, while MutableAVLTree
+ * allocates one node, so bytes per insert should differ by roughly a factor of log n.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class SortedDataBenchmark {
+	private static final int[] SIZES = {1_000, 10_000, 100_000, 1_000_000};
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+
+		for (int size : SIZES) {
+			Integer[] values = new Integer[size];
+			Random random = new Random(42);
+			for (int i = 0; i < size; i++) values[i] = random.nextInt();
+
+			for (Implementation implementation : Implementation.values()) {
+				// Sorted array inserts shift the array and are quadratic; skip the largest size
+				if (implementation == Implementation.SORTED_ARRAY_LIST && size > 100_000) continue;
+
+				long bestTime = Long.MAX_VALUE, bestBytes = Long.MAX_VALUE;
+				for (int round = 0; round < ROUNDS; round++) {
+					SortedData<Integer> data = SortedDataFactory.makeSortedData(Integer::compare, implementation);
+					long bytes = threads.getThreadAllocatedBytes(thread);
+					long start = System.nanoTime();
+					for (Integer value : values) data.insert(value);
+					bestTime = Math.min(bestTime, System.nanoTime() - start);
+					bestBytes = Math.min(bestBytes, threads.getThreadAllocatedBytes(thread) - bytes);
+				}
+				System.out.printf("%,9d inserts, %-17s: %7.1f ns/insert, %6.1f bytes/insert%n",
+						size, implementation, (double) bestTime / size, (double) bestBytes / size);
+			}
+		}
+	}
+}
@@ -0,0 +1,104 @@
+import dao.UserDAO;
+import dao.model.User;
+import org.junit.Test;
+import sorteddata.ObservableSortedData;
+import sorteddata.SortedData;
+import sorteddata.avltree.AVLTree;
+import sorteddata.mutableavltree.MutableAVLTree;
+import sorteddata.sortedarraylist.SortedArrayList;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class SortedDataBulkLoadTests {
+    private static final Comparator<int[]> BY_KEY = Comparator.comparingInt(a -> a[0]);
+
+    private static final List<Function<Comparator<int[]>, SortedData<int[]>>> IMPLEMENTATIONS = List.of(
+            SortedArrayList::new,
+            AVLTree::new,
+            MutableAVLTree::new,
+            c -> new ObservableSortedData<>(new SortedArrayList<>(c))
+    );
+
+    @Test
+    public void testMatchesRepeatedInsert() {
+        Random random = new Random(7);
+        for (Function<Comparator<int[]>, SortedData<int[]>> make : IMPLEMENTATIONS) {
+            for (int trial = 0; trial < 50; trial++) {
+                SortedData<int[]> bulk = make.apply(BY_KEY);
+                // Reference built one insert at a time
+                SortedData<int[]> single = new SortedArrayList<>(BY_KEY);
+
+                // Some values already stored, then a batch with duplicates of both kinds
+                List<int[]> stored = new ArrayList<>();
+                for (int i = 0; i < 20; i++) stored.add(new int[] {random.nextInt(100), -1});
+                stored.forEach(single::insert);
+                bulk.bulkLoad(stored.iterator());
+                List<int[]> batch = new ArrayList<>();
+                for (int i = 0; i < 200; i++) batch.add(new int[] {random.nextInt(300), i});
+                if (trial % 2 == 0) batch.sort(BY_KEY);
+
+                int expected = 0;
+                for (int[] value : batch) if (single.insert(value)) expected++;
+
+                assertEquals(expected, bulk.bulkLoad(batch.iterator()));
+                assertSameContents(single, bulk);
+            }
+        }
+    }
+
+    @Test
+    public void testSortedInputIntoEmpty() {
+        for (Function<Comparator<int[]>, SortedData<int[]>> make : IMPLEMENTATIONS) {
+            SortedData<int[]> data = make.apply(BY_KEY);
+            List<int[]> batch = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) batch.add(new int[] {i, 0});
+
+            assertEquals(1000, data.bulkLoad(batch.iterator()));
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, data.getAtIndex(i)[0]);
+                assertNotNull(data.get(new int[] {i, 0}));
+            }
+            assertEquals(0, data.bulkLoad(Collections.emptyIterator()));
+        }
+    }
+
+    @Test
+    public void testObservableNotifiesOnlyInsertedValues() {
+        ObservableSortedData<int[]> data = new ObservableSortedData<>(new SortedArrayList<>(BY_KEY));
+        data.insert(new int[] {1, 0});
+        List<int[]> seen = new ArrayList<>();
+        data.addInsertListener(seen::add);
+
+        int[] fresh = {2, 1};
+        data.bulkLoad(List.of(new int[] {1, 1}, fresh, new int[] {2, 2}).iterator());
+
+        assertEquals(1, seen.size());
+        assertSame(fresh, seen.get(0));
+    }
+
+    @Test
+    public void testDaoAddAllIndexesByUUID() {
+        UserDAO users = UserDAO.getInstance();
+        users.clear();
+        users.add(new User(UUID.randomUUID(), User.Role.Member, "bravo", "password"));
+
+        User alpha = new User(UUID.randomUUID(), User.Role.Member, "alpha", "password");
+        User duplicate = new User(UUID.randomUUID(), User.Role.Member, "BRAVO", "password");
+        assertEquals(1, users.addAll(List.of(alpha, duplicate).iterator()));
+
+        assertSame(alpha, users.getByUUID(alpha.getUUID()));
+        assertNull(users.getByUUID(duplicate.getUUID()));
+    }
+
+    private static void assertSameContents(SortedData<int[]> expected, SortedData<int[]> actual) {
+        Iterator<int[]> e = expected.getAll(), a = actual.getAll();
+        while (e.hasNext()) {
+            assertTrue(a.hasNext());
+            assertArrayEquals(e.next(), a.next());
+        }
+        assertFalse(a.hasNext());
+    }
+}
@@ -0,0 +1,128 @@
+import org.junit.Test;
+import sorteddata.Page;
+import sorteddata.SortedData;
+import sorteddata.SortedDataFactory;
+import sorteddata.SortedDataFactory.Implementation;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the implementations of SortedData against a TreeSet and each other.
+ */
+public class SortedDataTests {
+    private static final Implementation[] IMPLEMENTATIONS = {
+            Implementation.SORTED_ARRAY_LIST, Implementation.AVL_TREE, Implementation.MUTABLE_AVL_TREE, Implementation.CONCURRENT_AVL_TREE
+    };
+
+    @Test
+    public void testInsertAndGet() {
+        for (Implementation implementation : IMPLEMENTATIONS) {
+            Random random = new Random(3);
+            SortedData<Integer> data = SortedDataFactory.makeSortedData(Integer::compare, implementation);
+            TreeSet<Integer> expected = new TreeSet<>();
+            for (int i = 0; i < 5000; i++) {
+                int value = random.nextInt(10000);
+                assertEquals(implementation.name(), expected.add(value), data.insert(value));
+            }
+
+            for (Iterator<Integer> it = data.getAll(); it.hasNext(); ) {
+                assertEquals(expected.pollFirst(), it.next());
+            }
+            assertTrue(expected.isEmpty());
+            assertNull(data.get(-1));
+            assertNotNull(data.getRandom());
+        }
+    }
+
+    @Test
+    public void testIndexAndRange() {
+        for (Implementation implementation : IMPLEMENTATIONS) {
+            SortedData<Integer> data = SortedDataFactory.makeSortedData(Integer::compare, implementation);
+            assertNull(data.getRandom());
+            assertFalse(data.getAll().hasNext());
+            // Even numbers, inserted in descending order to force rotations
+            for (int i = 998; i >= 0; i -= 2) data.insert(i);
+
+            for (int i = 0; i < 500; i++) assertEquals(Integer.valueOf(2 * i), data.getAtIndex(i));
+
+            assertEquals(List.of(10, 12, 14), toList(data.getRange(10, 3, false)));
+            assertEquals(List.of(12, 14, 16), toList(data.getRange(11, 3, false)));
+            assertEquals(List.of(10, 8, 6), toList(data.getRange(10, 3, true)));
+            assertEquals(List.of(10, 8, 6), toList(data.getRange(11, 3, true)));
+            assertEquals(List.of(998), toList(data.getRange(997, -1, false)));
+            assertEquals(List.of(998, 996), toList(data.getRange(null, 2, true)));
+            assertEquals(List.of(), toList(data.getRange(-1, 5, true)));
+            assertEquals(List.of(), toList(data.getRange(999, 5, false)));
+            assertEquals(List.of(998, 996, 994), toList(data.getRange(5000, 3, true)));
+            assertEquals(500, toList(data.getRange(null, -1, true)).size());
+        }
+    }
+
+    @Test
+    public void testPagingVisitsEveryElementOnce() {
+        for (Implementation implementation : IMPLEMENTATIONS) {
+            SortedData<Integer> data = SortedDataFactory.makeSortedData(Integer::compare, implementation);
+            for (int i = 0; i < 95; i++) data.insert(i);
+
+            for (boolean backwards : new boolean[] {false, true}) {
+                List<Integer> seen = new ArrayList<>();
+                Page<Integer> page = data.getPage(10, backwards);
+                int pages = 1;
+                seen.addAll(page.items());
+                while (page.hasNext()) {
+                    page = data.getPage(page.next(), 10);
+                    seen.addAll(page.items());
+                    pages++;
+                }
+                assertEquals(10, pages);
+                assertEquals(toList(data.getRange(null, -1, backwards)), seen);
+            }
+
+            // Elements added behind the cursor are not revisited; those ahead are picked up
+            Page<Integer> first = data.getPage(10, false);
+            data.insert(-5);
+            data.insert(1000);
+            Page<Integer> second = data.getPage(first.next(), 100);
+            assertEquals(Integer.valueOf(10), second.items().get(0));
+            assertEquals(Integer.valueOf(1000), second.items().get(second.items().size() - 1));
+            assertFalse(second.hasNext());
+        }
+    }
+
+    @Test
+    public void testConcurrentInsertsAndSnapshotIteration() throws InterruptedException {
+        SortedData<Integer> data = SortedDataFactory.makeSortedData(Integer::compare, Implementation.CONCURRENT_AVL_TREE);
+        for (int i = 0; i < 1000; i++) data.insert(-1 - i);
+        Iterator<Integer> before = data.getAll();
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = offset; i < 20000; i += writers.length) data.insert(i);
+            });
+            writers[t].start();
+        }
+        // Read while the writers run; each iterator sees a consistent sorted snapshot
+        for (int round = 0; round < 50; round++) {
+            Integer previous = null;
+            for (Iterator<Integer> it = data.getAll(); it.hasNext(); ) {
+                Integer value = it.next();
+                if (previous != null) assertTrue(previous < value);
+                previous = value;
+            }
+        }
+        for (Thread writer : writers) writer.join();
+
+        assertEquals(21000, toList(data.getAll()).size());
+        assertEquals("An iterator made earlier must not see later inserts", 1000, toList(before).size());
+    }
+
+    private static List<Integer> toList(Iterator<Integer> it) {
+        List<Integer> out = new ArrayList<>();
+        it.forEachRemaining(out::add);
+        return out;
+    }
+}
@@ -0,0 +1,152 @@
+import dao.PostDAO;
+import dao.ReactionDao;
+import dao.UserDAO;
+import dao.model.Message;
+import dao.model.Post;
+import dao.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import reactions.IReactionReporter;
+import reactions.ReactionDisplayTag;
+import reactions.ReactionReportFactory;
+import reactions.ReactionType;
+import reactions.ReactionsFacade;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the streaming reporters against the ones that rebuild their answer on every call.
+ */
+public class StreamingReportTests {
+
+    private final IReactionReporter overview = ReactionReportFactory.buildReporter("overview");
+    private final IReactionReporter oldest = ReactionReportFactory.buildReporter("oldest");
+    private final IReactionReporter streamingOverview = ReactionReportFactory.buildReporter("overview-streaming");
+    private final IReactionReporter streamingOldest = ReactionReportFactory.buildReporter("oldest-streaming");
+
+    @Before
+    public void setUp() {
+        UserDAO.getInstance().clear();
+        PostDAO.getInstance().clear();
+        ReactionDao.getInstance().clear();
+    }
+
+    @Test
+    public void testEmptyMessage() {
+        Message message = createTestMessage();
+        assertEquals(0, streamingOverview.generateReport(message).length);
+        assertEquals(0, streamingOldest.generateReport(message).length);
+        assertEquals(0, streamingOverview.generateReport(null).length);
+    }
+
+    @Test
+    public void testOldestSpecExample() {
+        Message message = createTestMessage();
+        User u1 = createTestUser("User1");
+        User u2 = createTestUser("User2");
+        User u3 = createTestUser("User3");
+        User u4 = createTestUser("User4");
+
+        ReactionsFacade.addReaction(u1.getUUID(), message.id(), ReactionType.HAPPY, 1);
+        ReactionsFacade.addReaction(u2.getUUID(), message.id(), ReactionType.ANGRY, 2);
+        ReactionsFacade.addReaction(u1.getUUID(), message.id(), ReactionType.LAUGH, 3);
+        ReactionsFacade.addReaction(u3.getUUID(), message.id(), ReactionType.ANGRY, 4);
+        ReactionsFacade.addReaction(u4.getUUID(), message.id(), ReactionType.ANGRY, 5);
+        ReactionsFacade.removeReaction(u3.getUUID(), message.id(), ReactionType.ANGRY);
+
+        assertArrayEquals(new ReactionDisplayTag[] {
+                new ReactionDisplayTag(ReactionType.HAPPY, "User1"),
+                new ReactionDisplayTag(ReactionType.ANGRY, "User2"),
+                new ReactionDisplayTag(ReactionType.ANGRY, "User4")
+        }, streamingOldest.generateReport(message));
+    }
+
+    @Test
+    public void testReAddingReplacesTimestamp() {
+        Message message = createTestMessage();
+        User u1 = createTestUser("User1");
+        User u2 = createTestUser("User2");
+
+        ReactionsFacade.addReaction(u1.getUUID(), message.id(), ReactionType.HAPPY, 1);
+        ReactionsFacade.addReaction(u2.getUUID(), message.id(), ReactionType.SAD, 2);
+        ReactionsFacade.addReaction(u1.getUUID(), message.id(), ReactionType.HAPPY, 3);
+
+        ReactionDisplayTag[] report = streamingOldest.generateReport(message);
+        assertEquals("User2", report[0].label());
+        assertEquals("User1", report[1].label());
+        assertArrayEquals(overview.generateReport(message), streamingOverview.generateReport(message));
+    }
+
+    @Test
+    public void testOldestNamesUsersLoadedAfterReacting() {
+        Message message = createTestMessage();
+        User late = new User(UUID.randomUUID(), User.Role.Member, "LateUser", "password");
+        // Straight into the DAO, as replaying a log might, before the user is in
+        ReactionDao.getInstance().addReaction(late.getUUID(), message.id(), ReactionType.HAPPY, 1);
+        assertEquals("Unknown", streamingOldest.generateReport(message)[0].label());
+
+        UserDAO.getInstance().add(late);
+        assertEquals("LateUser", streamingOldest.generateReport(message)[0].label());
+    }
+
+    @Test
+    public void testReportsAreCopies() {
+        Message message = createTestMessage();
+        User u1 = createTestUser("User1");
+        ReactionsFacade.addReaction(u1.getUUID(), message.id(), ReactionType.HAPPY, 1);
+
+        streamingOverview.generateReport(message)[0] = null;
+        streamingOldest.generateReport(message)[0] = null;
+        assertNotNull(streamingOverview.generateReport(message)[0]);
+        assertNotNull(streamingOldest.generateReport(message)[0]);
+    }
+
+    @Test
+    public void testMatchesRebuiltReportsUnderRandomUpdates() {
+        Random random = new Random(42);
+        Message message = createTestMessage();
+        User[] users = new User[8];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = createTestUser("User" + i);
+        }
+        ReactionType[] types = ReactionType.values();
+
+        for (int step = 0; step < 2000; step++) {
+            User user = users[random.nextInt(users.length)];
+            ReactionType type = types[random.nextInt(types.length)];
+            if (random.nextInt(3) == 0) {
+                List<ReactionType> mine = ReactionsFacade.getReactions(user.getUUID(), message.id());
+                if (!mine.isEmpty()) type = mine.get(random.nextInt(mine.size()));
+                ReactionsFacade.removeReaction(user.getUUID(), message.id(), type);
+            } else {
+                ReactionsFacade.addReaction(user.getUUID(), message.id(), type, step);
+            }
+
+            assertArrayEquals("overview at step " + step,
+                    overview.generateReport(message), streamingOverview.generateReport(message));
+            assertArrayEquals("oldest at step " + step,
+                    oldest.generateReport(message), streamingOldest.generateReport(message));
+        }
+    }
+
+    private User createTestUser(String username) {
+        User u = new User(UUID.randomUUID(), User.Role.Member, username, "password");
+        UserDAO.getInstance().add(u);
+        return u;
+    }
+
+    private Message createTestMessage() {
+        User author = createTestUser("Author");
+        Post post = new Post(UUID.randomUUID(), author.getUUID(), "Test Post");
+        PostDAO.getInstance().add(post);
+
+        Message m = new Message(UUID.randomUUID(), author.getUUID(), post.getUUID(),
+                System.currentTimeMillis(), "Test content");
+        post.messages.insert(m);
+        return m;
+    }
+}
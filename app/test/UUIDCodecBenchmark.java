@@ -0,0 +1,102 @@
+import dao.model.Message;
+import persistentdata.DataPipeline;
+import persistentdata.formatted.CSVFormat;
+import persistentdata.formatted.CSVFormattedFactory;
+import persistentdata.serialization.MessageSerializer;
+import persistentdata.serialization.Serializer;
+import persistentdata.serialization.UUIDCodec;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compares UUID.toString() and UUID.fromString() against UUIDCodec, on their own and when
+ * saving and loading a messages file as CSV. Run the main method directly; this is not a JUnit test.
+ */
+public class UUIDCodecBenchmark {
+	private static final int IDS = 1_000_000;
+	private static final int MESSAGES = 200_000;
+	private static final int ROUNDS = 5;
+
+	// MessageSerializer as it was before UUIDCodec
+	private static final Serializer<Message, String[]> CANONICAL = new Serializer<>() {
+		@Override
+		public String[] serialize(Message object) {
+			return new String[] {object.id().toString(), object.poster().toString(), object.thread().toString(), String.valueOf(object.timestamp()), object.message()};
+		}
+
+		@Override
+		public Message deserialize(String[] data) {
+			return new Message(UUID.fromString(data[0]), UUID.fromString(data[1]), UUID.fromString(data[2]), Long.valueOf(data[3]), data[4]);
+		}
+	};
+
+	public static void main(String[] args) {
+		UUID[] ids = new UUID[IDS];
+		String[] canonical = new String[IDS];
+		String[] encoded = new String[IDS];
+		for (int i = 0; i < IDS; i++) {
+			ids[i] = UUID.randomUUID();
+			canonical[i] = ids[i].toString();
+			encoded[i] = UUIDCodec.encode(ids[i]);
+		}
+
+		long bestToString = Long.MAX_VALUE, bestEncode = Long.MAX_VALUE;
+		long bestFromString = Long.MAX_VALUE, bestDecode = Long.MAX_VALUE;
+		long sink = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			for (UUID id : ids) sink += id.toString().length();
+			bestToString = Math.min(bestToString, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (UUID id : ids) sink += UUIDCodec.encode(id).length();
+			bestEncode = Math.min(bestEncode, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (String text : canonical) sink += UUID.fromString(text).getLeastSignificantBits();
+			bestFromString = Math.min(bestFromString, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			for (String text : encoded) sink += UUIDCodec.decode(text).getLeastSignificantBits();
+			bestDecode = Math.min(bestDecode, System.nanoTime() - start);
+		}
+		System.out.printf("%,d UUIDs: 36 characters each as text, %d encoded%n", IDS, UUIDCodec.ENCODED_LENGTH);
+		System.out.printf("write: toString %.1f ms, encode %.1f ms (%.2fx)%n",
+				bestToString / 1e6, bestEncode / 1e6, (double) bestToString / bestEncode);
+		System.out.printf("read:  fromString %.1f ms, decode %.1f ms (%.2fx)%n",
+				bestFromString / 1e6, bestDecode / 1e6, (double) bestFromString / bestDecode);
+		if (sink == 42) System.out.println();
+
+		List<Message> messages = BinaryFormatTests.createMessages(MESSAGES);
+		BinaryFormatTests.MemoryIOFactory io = new BinaryFormatTests.MemoryIOFactory();
+		CSVFormattedFactory csv = new CSVFormattedFactory(new CSVFormat(5));
+		DataPipeline<Message, String[]> before = new DataPipeline<>(io, csv, CANONICAL, "canonical");
+		DataPipeline<Message, String[]> after = new DataPipeline<>(io, csv, new MessageSerializer(), "encoded");
+		long bestSaveBefore = Long.MAX_VALUE, bestSaveAfter = Long.MAX_VALUE;
+		long bestLoadBefore = Long.MAX_VALUE, bestLoadAfter = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			before.writeFrom(messages.iterator());
+			bestSaveBefore = Math.min(bestSaveBefore, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			after.writeFrom(messages.iterator());
+			bestSaveAfter = Math.min(bestSaveAfter, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			if (before.readList().size() != MESSAGES) throw new AssertionError();
+			bestLoadBefore = Math.min(bestLoadBefore, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			if (after.readList().size() != MESSAGES) throw new AssertionError();
+			bestLoadAfter = Math.min(bestLoadAfter, System.nanoTime() - start);
+		}
+		System.out.printf("%,d messages as CSV: %,d bytes with toString, %,d bytes encoded%n",
+				MESSAGES, io.files.get("canonical").length, io.files.get("encoded").length);
+		System.out.printf("save: toString %.1f ms, encode %.1f ms (%.2fx)%n",
+				bestSaveBefore / 1e6, bestSaveAfter / 1e6, (double) bestSaveBefore / bestSaveAfter);
+		System.out.printf("load: fromString %.1f ms, decode %.1f ms (%.2fx)%n",
+				bestLoadBefore / 1e6, bestLoadAfter / 1e6, (double) bestLoadBefore / bestLoadAfter);
+	}
+}
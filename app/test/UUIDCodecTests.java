@@ -0,0 +1,66 @@
+import org.junit.Test;
+import persistentdata.serialization.UUIDCodec;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UUIDCodecTests {
+
+    @Test
+    public void testRoundTrip() {
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = i == 0 ? new UUID(0, 0) : i == 1 ? new UUID(-1, -1) : new UUID(random.nextLong(), random.nextLong());
+            String encoded = UUIDCodec.encode(id);
+
+            assertEquals(UUIDCodec.ENCODED_LENGTH, encoded.length());
+            assertEquals(id, UUIDCodec.decode(encoded));
+        }
+    }
+
+    @Test
+    public void testEncodingIsBase64Url() {
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+            byte[] bytes = ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+
+            assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), UUIDCodec.encode(id));
+        }
+    }
+
+    @Test
+    public void testCanonicalFormIsAccepted() {
+        for (int i = 0; i < 1000; i++) {
+            UUID id = UUID.randomUUID();
+
+            assertEquals(id, UUIDCodec.decode(id.toString()));
+            assertEquals(id, UUIDCodec.decode(id.toString().toUpperCase()));
+        }
+    }
+
+    @Test
+    public void testMalformedInputIsRejected() {
+        String encoded = UUIDCodec.encode(UUID.randomUUID());
+        String canonical = UUID.randomUUID().toString();
+        String[] malformed = {
+                "", "not a uuid", encoded.substring(1), encoded + "A",
+                encoded.substring(0, 5) + "+" + encoded.substring(6),
+                encoded.substring(0, 5) + "é" + encoded.substring(6),
+                // The last character may only use its top two bits
+                encoded.substring(0, 21) + "B",
+                canonical.replace('-', 'x'),
+                canonical.substring(0, 3) + "g" + canonical.substring(4),
+        };
+        for (String text : malformed) {
+            try {
+                UUIDCodec.decode(text);
+                fail("Accepted " + text);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+import dao.UserDAO;
+import dao.model.User;
+
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Measures the latency of UserDAO.getByUUID as the number of users grows.
+ * With the UUID index in DAO the cost per lookup should stay flat from a few
+ * hundred users up to a million, rather than growing with the user count.
+ * Run the main method directly; this is not a JUnit test.
+ */
+public class UserLookupBenchmark {
+	private static final int[] SIZES = {200, 1_000, 10_000, 100_000, 1_000_000};
+	private static final int LOOKUPS = 1_000_000;
+	private static final int ROUNDS = 5;
+
+	public static void main(String[] args) {
+		Random random = new Random(42);
+		for (int size : SIZES) {
+			UserDAO users = UserDAO.getInstance();
+			users.clear();
+			UUID[] ids = new UUID[size];
+			for (int i = 0; i < size; i++) {
+				ids[i] = UUID.randomUUID();
+				// Zero-padded names arrive in sorted order, so filling the DAO stays cheap
+				users.add(new User(ids[i], User.Role.Member, "user%07d".formatted(i), "password"));
+			}
+
+			long best = Long.MAX_VALUE;
+			int found = 0;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				for (int i = 0; i < LOOKUPS; i++) {
+					if (users.getByUUID(ids[random.nextInt(size)]) != null) found++;
+				}
+				best = Math.min(best, System.nanoTime() - start);
+			}
+			System.out.printf("%,9d users: %6.1f ns/lookup (%d found)%n", size, (double) best / LOOKUPS, found);
+		}
+	}
+}